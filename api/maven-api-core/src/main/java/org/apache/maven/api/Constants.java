@@ -115,6 +115,14 @@ public final class Constants {
     @Config(defaultValue = "${maven.user.conf}/extensions.xml")
     public static final String MAVEN_USER_EXTENSIONS = "maven.user.extensions";
 
+    /**
+     * Unix domain socket on which the Maven daemon accepts builds, and to which its client connects.
+     *
+     * @since 4.0.0
+     */
+    @Config(defaultValue = "${maven.user.conf}/daemon.sock")
+    public static final String MAVEN_DAEMON_SOCKET = "maven.daemon.socket";
+
     /**
      * Maven project extensions.
      *
@@ -273,5 +281,151 @@ public final class Constants {
     @Config(type = "java.lang.Integer", defaultValue = "cores/2 + 1")
     public static final String MAVEN_PROJECT_BUILDER_PARALLELISM = "maven.projectBuilder.parallelism";
 
+    /**
+     * Order in which the multithreaded builder starts projects whose upstream projects are built.
+     * Can be <code>fifo</code> (in the order they became ready) or <code>critical-path</code> (the project heading the
+     * longest remaining chain of downstream builds first). The chain length is measured with the durations recorded
+     * by earlier builds when <code>maven.builder.history</code> is enabled, and in number of modules otherwise.
+     *
+     * @since 4.0.0
+     */
+    @Config(defaultValue = "fifo")
+    public static final String MAVEN_BUILDER_SCHEDULING = "maven.builder.scheduling";
+
+    /**
+     * Whether to record the wall time of each project build and mojo execution into
+     * <code>build-durations.properties</code> in the build directory of the execution root, and to use the durations
+     * recorded by earlier builds for scheduling.
+     *
+     * @since 4.0.0
+     */
+    @Config(defaultValue = "false")
+    public static final String MAVEN_BUILDER_HISTORY = "maven.builder.history";
+
+    /**
+     * Lifecycle phase after which the multithreaded builder may start the downstream projects of a project, for
+     * example <code>compile</code> or <code>package</code>. Downstream projects are then started as soon as their
+     * upstream projects start mojos bound to a later phase, instead of waiting for them to be completely built.
+     * Downstream projects needing upstream outputs of later phases, such as test jars, must not be pipelined.
+     * Default value: <code>null</code>, downstream projects wait for their upstream projects to be completely built.
+     *
+     * @since 4.0.0
+     */
+    @Config
+    public static final String MAVEN_BUILDER_PIPELINING = "maven.builder.pipelining";
+
+    /**
+     * How the multithreaded builder writes the log output of projects built concurrently. Can be
+     * <code>interleaved</code> (messages are written as they come) or <code>buffered</code> (the output of each
+     * project is written in one block when the project finishes, except for the running project which started first,
+     * whose output is written as it comes).
+     *
+     * @since 4.0.0
+     */
+    @Config(defaultValue = "interleaved")
+    public static final String MAVEN_BUILDER_OUTPUT = "maven.builder.output";
+
+    /**
+     * Whether to build reactor projects and project models on virtual threads instead of pooled platform threads.
+     * Requires Java 21 or later, platform threads are used otherwise. The number of reactor projects built
+     * concurrently is still bounded by the degree of concurrency, and the number of project models built
+     * concurrently by <code>maven.projectBuilder.parallelism</code>.
+     *
+     * @since 4.0.0
+     */
+    @Config(defaultValue = "false")
+    public static final String MAVEN_VIRTUAL_THREADS = "maven.virtualThreads";
+
+    /**
+     * How the artifacts of reactor projects are put into the project local repository, under the build directory of
+     * the root project. Can be <code>copy</code>, <code>hardlink</code> or <code>symlink</code>. Links avoid writing
+     * every artifact twice, and fall back to copies when the file system does not support them. Linked artifacts
+     * reflect later changes of the project build outputs.
+     *
+     * @since 4.0.0
+     */
+    @Config(defaultValue = "copy")
+    public static final String MAVEN_PROJECT_LOCAL_REPO_INSTALL_MODE = "maven.projectLocalRepo.installMode";
+
+    /**
+     * User property for enabling the persistent model cache. Parsed POMs and the effective models of imported BOMs are
+     * stored in the local repository, keyed by the checksum of their sources, the settings of the POM reader, and the
+     * system and user properties other than the environment variables, and reused by later builds.
+     *
+     * @since 4.0.0
+     */
+    @Config(defaultValue = "false")
+    public static final String MAVEN_MODEL_CACHE_PERSISTENT = "maven.modelCache.persistent";
+
+    /**
+     * User property for enabling the persistent plugin descriptor index. The parsed content of the
+     * <code>plugin.xml</code> of each Maven 4 API plugin is stored in the local repository, keyed by the checksum
+     * of the descriptor, and reused by later builds instead of parsing the descriptor again.
+     *
+     * @since 4.0.0
+     */
+    @Config(defaultValue = "false")
+    public static final String MAVEN_PLUGIN_DESCRIPTOR_CACHE_PERSISTENT = "maven.pluginDescriptorCache.persistent";
+
+    /**
+     * User property for the number of plugin realms kept by a container while no build uses them. When set, the
+     * realms are kept across the sessions of the container, realms whose plugin artifacts changed are built again,
+     * and at the end of each session the least recently used unused realms beyond this number are disposed. A
+     * negative value keeps all the realms, as long as the container lives.
+     *
+     * @since 4.0.0
+     */
+    @Config(type = "java.lang.Integer", defaultValue = "-1")
+    public static final String MAVEN_PLUGIN_REALM_CACHE_MAX_UNUSED = "maven.pluginRealmCache.maxUnused";
+
+    /**
+     * User property for the maximum number of entries of the model cache shared by the model builder within a
+     * session. The least recently used entries are evicted first, and computed again when needed. A value of
+     * <code>0</code> or less leaves the cache unbounded.
+     *
+     * @since 4.0.0
+     */
+    @Config(type = "java.lang.Integer", defaultValue = "0")
+    public static final String MAVEN_MODEL_CACHE_MAX_SIZE = "maven.modelCache.maxSize";
+
+    /**
+     * User property for recording the location of each element of the POMs read while building projects. Setting it
+     * to <code>false</code> saves memory and parsing time for builds that do not need to report model problems with
+     * their line numbers, such as CI builds of validated projects.
+     *
+     * @since 4.0.0
+     */
+    @Config(defaultValue = "true")
+    public static final String MAVEN_MODEL_BUILDER_LOCATION_TRACKING = "maven.modelBuilder.locationTracking";
+
+    /**
+     * User property for sharing the instances of equal strings read from the POMs of a session, such as group
+     * identifiers, versions or scopes, which reduces the memory retained by the models of large builds.
+     *
+     * @since 4.0.0
+     */
+    @Config(defaultValue = "true")
+    public static final String MAVEN_MODEL_BUILDER_STRING_POOL = "maven.modelBuilder.stringPool";
+
+    /**
+     * User property for the number of threads resolving the POMs of imported BOMs, their parents and their own imports
+     * ahead of the model builder, which then builds the imports one after the other from the local repository. A
+     * value of <code>1</code> or less resolves each POM only when the model builder gets to it.
+     *
+     * @since 4.0.0
+     */
+    @Config(type = "java.lang.Integer", defaultValue = "8")
+    public static final String MAVEN_MODEL_BUILDER_IMPORT_PARALLELISM = "maven.modelBuilder.importParallelism";
+
+    /**
+     * System property for a directory in which the checksums calculated for files are kept, so that a file is not
+     * hashed again as long as its size, modification time and file key do not change, even by later builds. When it is
+     * not set, checksums are always calculated.
+     *
+     * @since 4.0.0
+     */
+    @Config
+    public static final String MAVEN_CHECKSUM_CACHE = "maven.checksum.cache";
+
     private Constants() {}
 }
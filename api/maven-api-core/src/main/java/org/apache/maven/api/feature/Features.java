@@ -21,6 +21,7 @@
 import java.util.Map;
 import java.util.Properties;
 
+import org.apache.maven.api.Constants;
 import org.apache.maven.api.Session;
 import org.apache.maven.api.annotations.Nullable;
 
@@ -60,6 +61,33 @@ public static boolean buildConsumer(@Nullable Session session) {
         return buildConsumer(session != null ? session.getUserProperties() : null);
     }
 
+    /**
+     * Check if the locations of the POM elements are recorded while building models.
+     *
+     * @see Constants#MAVEN_MODEL_BUILDER_LOCATION_TRACKING
+     */
+    public static boolean locationTracking(@Nullable Properties userProperties) {
+        return doGet(userProperties, Constants.MAVEN_MODEL_BUILDER_LOCATION_TRACKING, true);
+    }
+
+    /**
+     * Check if the locations of the POM elements are recorded while building models.
+     *
+     * @see Constants#MAVEN_MODEL_BUILDER_LOCATION_TRACKING
+     */
+    public static boolean locationTracking(@Nullable Map<String, String> userProperties) {
+        return doGet(userProperties, Constants.MAVEN_MODEL_BUILDER_LOCATION_TRACKING, true);
+    }
+
+    /**
+     * Check if the strings read from the POMs of a session are pooled.
+     *
+     * @see Constants#MAVEN_MODEL_BUILDER_STRING_POOL
+     */
+    public static boolean stringPool(@Nullable Map<String, String> userProperties) {
+        return doGet(userProperties, Constants.MAVEN_MODEL_BUILDER_STRING_POOL, true);
+    }
+
     private static boolean doGet(Properties userProperties, String key, boolean def) {
         return doGet(userProperties != null ? userProperties.get(key) : null, def);
     }
@@ -22,6 +22,7 @@
 import java.io.Reader;
 import java.net.URL;
 import java.nio.file.Path;
+import java.util.function.UnaryOperator;
 
 import org.apache.maven.api.annotations.Experimental;
 import org.apache.maven.api.annotations.Immutable;
@@ -66,6 +67,30 @@ public interface XmlReaderRequest {
 
     boolean isAddDefaultEntities();
 
+    /**
+     * Whether the locations of the elements should be recorded in the objects read.
+     * Skipping them saves memory when no problem needs to be reported with its line number.
+     *
+     * @return {@code true} if locations are tracked, which is the default
+     * @since 4.0.0
+     */
+    default boolean isLocationTracking() {
+        return true;
+    }
+
+    /**
+     * Canonicalizes the strings read, so that equal values read from different documents share the same instance.
+     * Values such as group identifiers, scopes or plugin coordinates are repeated in most documents, and a pool shared
+     * by all the reads of a session reduces the memory retained by the objects read.
+     *
+     * @return the string pool, or {@code null} to keep the strings as read
+     * @since 4.0.0
+     */
+    @Nullable
+    default UnaryOperator<String> getStringPool() {
+        return null;
+    }
+
     interface Transformer {
         /**
          * Interpolate the value read from the xml document
@@ -95,6 +120,8 @@ class XmlReaderRequestBuilder {
         String modelId;
         String location;
         boolean addDefaultEntities = true;
+        boolean locationTracking = true;
+        UnaryOperator<String> stringPool;
 
         public XmlReaderRequestBuilder path(Path path) {
             this.path = path;
@@ -146,6 +173,16 @@ public XmlReaderRequestBuilder addDefaultEntities(boolean addDefaultEntities) {
             return this;
         }
 
+        public XmlReaderRequestBuilder locationTracking(boolean locationTracking) {
+            this.locationTracking = locationTracking;
+            return this;
+        }
+
+        public XmlReaderRequestBuilder stringPool(UnaryOperator<String> stringPool) {
+            this.stringPool = stringPool;
+            return this;
+        }
+
         public XmlReaderRequest build() {
             return new DefaultXmlReaderRequest(
                     path,
@@ -157,7 +194,9 @@ public XmlReaderRequest build() {
                     strict,
                     modelId,
                     location,
-                    addDefaultEntities);
+                    addDefaultEntities,
+                    locationTracking,
+                    stringPool);
         }
 
         private static class DefaultXmlReaderRequest implements XmlReaderRequest {
@@ -171,6 +210,8 @@ private static class DefaultXmlReaderRequest implements XmlReaderRequest {
             final String modelId;
             final String location;
             final boolean addDefaultEntities;
+            final boolean locationTracking;
+            final UnaryOperator<String> stringPool;
 
             @SuppressWarnings("checkstyle:ParameterNumber")
             DefaultXmlReaderRequest(
@@ -183,7 +224,9 @@ private static class DefaultXmlReaderRequest implements XmlReaderRequest {
                     boolean strict,
                     String modelId,
                     String location,
-                    boolean addDefaultEntities) {
+                    boolean addDefaultEntities,
+                    boolean locationTracking,
+                    UnaryOperator<String> stringPool) {
                 this.path = path;
                 this.rootDirectory = rootDirectory;
                 this.url = url;
@@ -194,6 +237,8 @@ private static class DefaultXmlReaderRequest implements XmlReaderRequest {
                 this.modelId = modelId;
                 this.location = location;
                 this.addDefaultEntities = addDefaultEntities;
+                this.locationTracking = locationTracking;
+                this.stringPool = stringPool;
             }
 
             @Override
@@ -244,6 +289,16 @@ public String getLocation() {
             public boolean isAddDefaultEntities() {
                 return addDefaultEntities;
             }
+
+            @Override
+            public boolean isLocationTracking() {
+                return locationTracking;
+            }
+
+            @Override
+            public UnaryOperator<String> getStringPool() {
+                return stringPool;
+            }
         }
     }
 }
@@ -82,6 +82,16 @@ public InputLocation getImportedFrom() {
         return importedFrom;
     }
 
+    /**
+     * Get the sources this source has been merged from, or {@code null} if it has not been merged.
+     *
+     * @return the merged sources
+     * @since 4.0.0
+     */
+    public List<InputSource> getInputs() {
+        return inputs;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
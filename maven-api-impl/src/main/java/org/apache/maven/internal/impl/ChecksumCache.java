@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.api.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A disk-backed store for the checksums of files, so that a file which has not changed since it has been hashed is
+ * not read again, even by a later build.
+ * <p>
+ * Entries are keyed by the absolute path of the file and are only used as long as the size, the last modification
+ * time and the file key of the file are the ones recorded when the checksums were calculated. Entries are not kept
+ * in memory: each lookup reads the small entry file, which is still much cheaper than hashing the file again.
+ */
+class ChecksumCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChecksumCache.class);
+
+    /**
+     * Version of the entry format, to be increased whenever the layout of the entries changes.
+     */
+    private static final String FORMAT = "1";
+
+    private static final String CHECKSUM = "checksum.";
+
+    private final Path directory;
+
+    ChecksumCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates the cache configured by the {@value Constants#MAVEN_CHECKSUM_CACHE} system property.
+     *
+     * @return the cache, or {@code null} if it is not enabled
+     */
+    static ChecksumCache fromSystemProperties() {
+        String directory = System.getProperty(Constants.MAVEN_CHECKSUM_CACHE);
+        return directory != null && !directory.isBlank() ? new ChecksumCache(Paths.get(directory)) : null;
+    }
+
+    /**
+     * Returns the checksums recorded for the given file, by algorithm name.
+     *
+     * @param file the absolute and normalized path of the file
+     * @param stamp the current stamp of the file
+     * @return the recorded checksums, empty if the file changed or has never been hashed
+     */
+    Map<String, String> get(Path file, Stamp stamp) {
+        Entry entry = read(file);
+        return entry.stamp.equals(stamp) ? entry.checksums : Collections.emptyMap();
+    }
+
+    /**
+     * Records checksums of the given file, along with the ones already recorded for the same stamp.
+     *
+     * @param file the absolute and normalized path of the file
+     * @param stamp the stamp of the file when it was hashed
+     * @param checksums the checksums, by algorithm name
+     */
+    void put(Path file, Stamp stamp, Map<String, String> checksums) {
+        Entry current = read(file);
+        Map<String, String> merged = new HashMap<>();
+        if (current.stamp.equals(stamp)) {
+            merged.putAll(current.checksums);
+        }
+        merged.putAll(checksums);
+        write(file, new Entry(stamp, Collections.unmodifiableMap(merged)));
+    }
+
+    private Entry read(Path file) {
+        Path entryPath = getEntryPath(file);
+        if (Files.isRegularFile(entryPath)) {
+            Properties properties = new Properties();
+            try (InputStream is = Files.newInputStream(entryPath)) {
+                properties.load(is);
+                if (FORMAT.equals(properties.getProperty("format"))
+                        && file.toString().equals(properties.getProperty("path"))) {
+                    Map<String, String> checksums = new HashMap<>();
+                    for (String name : properties.stringPropertyNames()) {
+                        if (name.startsWith(CHECKSUM)) {
+                            checksums.put(name.substring(CHECKSUM.length()), properties.getProperty(name));
+                        }
+                    }
+                    Stamp stamp = new Stamp(
+                            Long.parseLong(properties.getProperty("size")),
+                            Long.parseLong(properties.getProperty("modified")),
+                            properties.getProperty("fileKey"));
+                    return new Entry(stamp, Collections.unmodifiableMap(checksums));
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                LOGGER.debug("Unable to read checksum cache entry {}", entryPath, e);
+            }
+        }
+        return new Entry(new Stamp(-1, -1, null), Collections.emptyMap());
+    }
+
+    private void write(Path file, Entry entry) {
+        Path entryPath = getEntryPath(file);
+        Properties properties = new Properties();
+        properties.setProperty("format", FORMAT);
+        properties.setProperty("path", file.toString());
+        properties.setProperty("size", Long.toString(entry.stamp.size()));
+        properties.setProperty("modified", Long.toString(entry.stamp.modified()));
+        properties.setProperty("fileKey", entry.stamp.fileKey());
+        entry.checksums.forEach((name, checksum) -> properties.setProperty(CHECKSUM + name, checksum));
+        try {
+            Files.createDirectories(entryPath.getParent());
+            Path tmp = Files.createTempFile(
+                    entryPath.getParent(), entryPath.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream os = Files.newOutputStream(tmp)) {
+                    properties.store(os, null);
+                }
+                Files.move(tmp, entryPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.debug("Unable to write checksum cache entry {}", entryPath, e);
+        }
+    }
+
+    private Path getEntryPath(Path file) {
+        String key = toHex(newDigest().digest(file.toString().getBytes(StandardCharsets.UTF_8)));
+        return directory.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The attributes of a file which identify its content: a change of any of them invalidates the checksums.
+     */
+    record Stamp(long size, long modified, String fileKey) {
+        static Stamp of(Path file) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new Stamp(
+                    attributes.size(),
+                    attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS),
+                    String.valueOf(attributes.fileKey()));
+        }
+    }
+
+    private record Entry(Stamp stamp, Map<String, String> checksums) {}
+}
@@ -24,13 +24,20 @@
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import org.apache.maven.api.di.Inject;
@@ -43,15 +50,45 @@
 
 import static org.apache.maven.internal.impl.Utils.nonNull;
 
+/**
+ * Files of at least {@value #MAPPED_THRESHOLD} bytes are memory-mapped and read once, by one task per algorithm
+ * running in parallel over the same mapping when several processors are available. When the
+ * {@value org.apache.maven.api.Constants#MAVEN_CHECKSUM_CACHE} system property is set, the checksums of files are also
+ * kept on disk and reused as long as the files do not change.
+ */
 @Named
 @Singleton
 public class DefaultChecksumAlgorithmService implements ChecksumAlgorithmService {
+    /**
+     * Size from which files are memory-mapped: below it, mapping costs more than copying the content.
+     */
+    static final long MAPPED_THRESHOLD = 1024 * 1024;
+
+    /**
+     * Size of the regions a file is mapped with, which only have to fit an {@code int}.
+     */
+    private static final long REGION_SIZE = 256 * 1024 * 1024;
+
+    /**
+     * A mapped file cannot be deleted or replaced on Windows until the mapping is garbage collected.
+     */
+    private static final boolean MAPPING =
+            !System.getProperty("os.name").toLowerCase(Locale.ENGLISH).startsWith("windows");
+
     private final ChecksumAlgorithmFactorySelector checksumAlgorithmFactorySelector;
 
+    private final ChecksumCache cache;
+
     @Inject
     public DefaultChecksumAlgorithmService(ChecksumAlgorithmFactorySelector checksumAlgorithmFactorySelector) {
+        this(checksumAlgorithmFactorySelector, ChecksumCache.fromSystemProperties());
+    }
+
+    DefaultChecksumAlgorithmService(
+            ChecksumAlgorithmFactorySelector checksumAlgorithmFactorySelector, ChecksumCache cache) {
         this.checksumAlgorithmFactorySelector =
                 nonNull(checksumAlgorithmFactorySelector, "checksumAlgorithmFactorySelector");
+        this.cache = cache;
     }
 
     @Override
@@ -115,11 +152,85 @@ public Map<ChecksumAlgorithm, String> calculate(Path file, Collection<ChecksumAl
             throws IOException {
         nonNull(file, "file");
         nonNull(algorithms, "algorithms");
+        if (cache == null) {
+            return calculateFile(file, algorithms);
+        }
+        Path path = file.toAbsolutePath().normalize();
+        ChecksumCache.Stamp stamp = ChecksumCache.Stamp.of(path);
+        Map<String, String> cached = cache.get(path, stamp);
+        if (algorithms.stream().allMatch(a -> cached.containsKey(a.getName()))) {
+            LinkedHashMap<ChecksumAlgorithm, String> result = new LinkedHashMap<>();
+            algorithms.forEach(a -> result.put(a, cached.get(a.getName())));
+            return result;
+        }
+        Map<ChecksumAlgorithm, String> result = calculateFile(path, algorithms);
+        if (stamp.equals(ChecksumCache.Stamp.of(path))) {
+            LinkedHashMap<String, String> checksums = new LinkedHashMap<>();
+            result.forEach((k, v) -> checksums.put(k.getName(), v));
+            cache.put(path, stamp, checksums);
+        }
+        return result;
+    }
+
+    private Map<ChecksumAlgorithm, String> calculateFile(Path file, Collection<ChecksumAlgorithm> algorithms)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (MAPPING && size >= MAPPED_THRESHOLD) {
+                List<ByteBuffer> regions = new ArrayList<>();
+                for (long position = 0; position < size; position += REGION_SIZE) {
+                    regions.add(channel.map(
+                            FileChannel.MapMode.READ_ONLY, position, Math.min(REGION_SIZE, size - position)));
+                }
+                return calculate(regions, algorithms);
+            }
+        }
         try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(file))) {
             return calculate(inputStream, algorithms);
         }
     }
 
+    /**
+     * Feeds the given regions to each algorithm, the first one on the calling thread and the others in parallel
+     * when there is more than one processor.
+     */
+    private static Map<ChecksumAlgorithm, String> calculate(
+            List<ByteBuffer> regions, Collection<ChecksumAlgorithm> algorithms) {
+        LinkedHashMap<ChecksumAlgorithm, ChecksumCalculator> algMap = new LinkedHashMap<>();
+        algorithms.forEach(f -> algMap.put(f, f.getCalculator()));
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        Iterator<ChecksumCalculator> calculators = algMap.values().iterator();
+        ChecksumCalculator first = calculators.hasNext() ? calculators.next() : null;
+        if (Runtime.getRuntime().availableProcessors() > 1) {
+            calculators.forEachRemaining(c -> tasks.add(CompletableFuture.runAsync(() -> update(c, regions))));
+        } else {
+            calculators.forEachRemaining(c -> update(c, regions));
+        }
+        if (first != null) {
+            update(first, regions);
+        }
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+        LinkedHashMap<ChecksumAlgorithm, String> result = new LinkedHashMap<>();
+        algMap.forEach((k, v) -> result.put(k, v.checksum()));
+        return result;
+    }
+
+    private static void update(ChecksumCalculator calculator, List<ByteBuffer> regions) {
+        for (ByteBuffer region : regions) {
+            calculator.update(region.duplicate());
+        }
+    }
+
     @Override
     public Map<ChecksumAlgorithm, String> calculate(InputStream stream, Collection<ChecksumAlgorithm> algorithms)
             throws IOException {
@@ -128,13 +239,15 @@ public Map<ChecksumAlgorithm, String> calculate(InputStream stream, Collection<C
         LinkedHashMap<ChecksumAlgorithm, ChecksumCalculator> algMap = new LinkedHashMap<>();
         algorithms.forEach(f -> algMap.put(f, f.getCalculator()));
         final byte[] buffer = new byte[1024 * 32];
+        final ByteBuffer chunk = ByteBuffer.wrap(buffer);
         for (; ; ) {
             int read = stream.read(buffer);
             if (read < 0) {
                 break;
             }
             for (ChecksumCalculator checksumCalculator : algMap.values()) {
-                checksumCalculator.update(ByteBuffer.wrap(buffer, 0, read));
+                chunk.limit(read).position(0);
+                checksumCalculator.update(chunk);
             }
         }
         LinkedHashMap<ChecksumAlgorithm, String> result = new LinkedHashMap<>();
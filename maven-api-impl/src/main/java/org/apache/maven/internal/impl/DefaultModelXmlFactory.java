@@ -65,6 +65,8 @@ public Model read(@Nonnull XmlReaderRequest request) throws XmlReaderException {
             }
             MavenStaxReader xml = new MavenStaxReader();
             xml.setAddDefaultEntities(request.isAddDefaultEntities());
+            xml.setAddLocationInformation(request.isLocationTracking());
+            xml.setStringPool(request.getStringPool());
             if (inputStream != null) {
                 return xml.read(inputStream, request.isStrict(), source);
             } else if (reader != null) {
@@ -57,6 +57,8 @@ public Settings read(@Nonnull XmlReaderRequest request) throws XmlReaderExceptio
             }
             SettingsStaxReader xml = new SettingsStaxReader();
             xml.setAddDefaultEntities(request.isAddDefaultEntities());
+            xml.setAddLocationInformation(request.isLocationTracking());
+            xml.setStringPool(request.getStringPool());
             if (reader != null) {
                 return xml.read(reader, request.isStrict(), source);
             } else {
@@ -59,6 +59,8 @@ public PersistedToolchains read(@Nonnull XmlReaderRequest request) throws XmlRea
             }
             MavenToolchainsStaxReader xml = new MavenToolchainsStaxReader();
             xml.setAddDefaultEntities(request.isAddDefaultEntities());
+            xml.setAddLocationInformation(request.isLocationTracking());
+            xml.setStringPool(request.getStringPool());
             if (reader != null) {
                 return xml.read(reader, request.isStrict(), source);
             } else {
@@ -18,14 +18,13 @@
  */
 package org.apache.maven.internal.impl.model;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 
 import org.apache.maven.api.di.Named;
 import org.apache.maven.api.di.Singleton;
@@ -42,7 +41,8 @@
 import org.apache.maven.api.services.model.DependencyManagementImporter;
 
 /**
- * Handles the import of dependency management from other models into the target model.
+ * Handles the import of dependency management from other models into the target model. The imports are merged once
+ * per session for each list of imported models, into a {@link ManagedDependencyIndex} shared by the importing models.
  *
  */
 @Named
@@ -56,45 +56,76 @@ public Model importManagement(
             ModelBuilderRequest request,
             ModelProblemCollector problems) {
         if (sources != null && !sources.isEmpty()) {
-            Map<String, Dependency> dependencies = new LinkedHashMap<>();
+            ManagedDependencyIndex index =
+                    ManagedDependencyIndex.computeIfAbsent(request, sources, () -> index(sources, request));
 
             DependencyManagement depMgmt = target.getDependencyManagement();
+            if (depMgmt == null) {
+                depMgmt = DependencyManagement.newInstance();
+            }
+
+            Map<String, Dependency> directDependencies = new LinkedHashMap<>();
+            for (Dependency dependency : depMgmt.getDependencies()) {
+                directDependencies.put(dependency.getManagementKey(), dependency);
+            }
 
-            if (depMgmt != null) {
-                for (Dependency dependency : depMgmt.getDependencies()) {
-                    dependencies.put(dependency.getManagementKey(), dependency);
+            for (ManagedDependencyIndex.Conflict conflict : index.getConflicts()) {
+                if (!directDependencies.containsKey(conflict.key())) {
+                    // TODO: https://issues.apache.org/jira/browse/MNG-8004
+                    problems.add(Severity.WARNING, Version.V40, conflict.message());
                 }
-            } else {
-                depMgmt = DependencyManagement.newInstance();
             }
 
-            Set<String> directDependencies = new HashSet<>(dependencies.keySet());
-
-            for (DependencyManagement source : sources) {
-                for (Dependency dependency : source.getDependencies()) {
-                    String key = dependency.getManagementKey();
-                    Dependency present = dependencies.putIfAbsent(key, dependency);
-                    if (present != null && !equals(dependency, present) && !directDependencies.contains(key)) {
-                        // TODO: https://issues.apache.org/jira/browse/MNG-8004
-                        problems.add(
-                                Severity.WARNING,
-                                Version.V40,
-                                "Ignored POM import for: " + toString(dependency) + " as already imported "
-                                        + toString(present) + ". Add the conflicting managed dependency directly "
-                                        + "to the dependencyManagement section of the POM.");
-                    }
-                    if (present == null && request.isLocationTracking()) {
-                        Dependency updatedDependency = updateWithImportedFrom(dependency, source);
-                        dependencies.put(key, updatedDependency);
+            List<Dependency> dependencies;
+            if (directDependencies.isEmpty()) {
+                dependencies = index.getDependencies();
+            } else {
+                dependencies = new ArrayList<>(
+                        directDependencies.size() + index.getDependencies().size());
+                dependencies.addAll(directDependencies.values());
+                for (Dependency dependency : index.getDependencies()) {
+                    if (!directDependencies.containsKey(dependency.getManagementKey())) {
+                        dependencies.add(dependency);
                     }
                 }
             }
 
-            return target.withDependencyManagement(depMgmt.withDependencies(dependencies.values()));
+            Model result = target.withDependencyManagement(depMgmt.withDependencies(dependencies));
+            ManagedDependencyIndex.layer(
+                    request, result.getDependencyManagement().getDependencies(), directDependencies, index);
+            return result;
         }
         return target;
     }
 
+    /**
+     * Merges the given imports, the first import of a dependency winning.
+     */
+    private ManagedDependencyIndex index(List<? extends DependencyManagement> sources, ModelBuilderRequest request) {
+        Map<String, Dependency> dependencies = new LinkedHashMap<>();
+        List<ManagedDependencyIndex.Conflict> conflicts = new ArrayList<>();
+
+        for (DependencyManagement source : sources) {
+            for (Dependency dependency : source.getDependencies()) {
+                String key = dependency.getManagementKey();
+                Dependency present = dependencies.putIfAbsent(key, dependency);
+                if (present != null && !equals(dependency, present)) {
+                    conflicts.add(new ManagedDependencyIndex.Conflict(
+                            key,
+                            "Ignored POM import for: " + toString(dependency) + " as already imported "
+                                    + toString(present) + ". Add the conflicting managed dependency directly "
+                                    + "to the dependencyManagement section of the POM."));
+                }
+                if (present == null && request.isLocationTracking()) {
+                    Dependency updatedDependency = updateWithImportedFrom(dependency, source);
+                    dependencies.put(key, updatedDependency);
+                }
+            }
+        }
+
+        return new ManagedDependencyIndex(dependencies, conflicts);
+    }
+
     private String toString(Dependency dependency) {
         StringBuilder stringBuilder = new StringBuilder();
         stringBuilder
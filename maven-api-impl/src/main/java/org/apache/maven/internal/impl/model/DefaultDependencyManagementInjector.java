@@ -23,6 +23,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.apache.maven.api.di.Named;
 import org.apache.maven.api.di.Singleton;
@@ -47,6 +48,10 @@ public class DefaultDependencyManagementInjector implements DependencyManagement
 
     @Override
     public Model injectManagement(Model model, ModelBuilderRequest request, ModelProblemCollector problems) {
+        Function<Object, Dependency> managed = ManagedDependencyIndex.lookup(request, model.getDependencyManagement());
+        if (managed != null) {
+            return merger.mergeManagedDependencies(model, managed);
+        }
         return merger.mergeManagedDependencies(model);
     }
 
@@ -92,6 +97,43 @@ public Model mergeManagedDependencies(Model model) {
             return model;
         }
 
+        /**
+         * Merges the dependencies of the model with the managed dependencies returned by the given lookup, which must
+         * manage each key at most once.
+         */
+        public Model mergeManagedDependencies(Model model, Function<Object, Dependency> managed) {
+            Map<Object, Dependency> dependencies = new HashMap<>();
+            Map<Object, Object> context = Collections.emptyMap();
+
+            for (Dependency dependency : model.getDependencies()) {
+                Object key = getDependencyKey().apply(dependency);
+                dependencies.put(key, dependency);
+            }
+
+            boolean modified = false;
+            for (Map.Entry<Object, Dependency> entry : dependencies.entrySet()) {
+                Dependency managedDependency = managed.apply(entry.getKey());
+                if (managedDependency != null) {
+                    Dependency merged = mergeDependency(entry.getValue(), managedDependency, false, context);
+                    if (merged != entry.getValue()) {
+                        entry.setValue(merged);
+                        modified = true;
+                    }
+                }
+            }
+
+            if (modified) {
+                List<Dependency> newDeps = new ArrayList<>(dependencies.size());
+                for (Dependency dep : model.getDependencies()) {
+                    Object key = getDependencyKey().apply(dep);
+                    Dependency dependency = dependencies.get(key);
+                    newDeps.add(dependency);
+                }
+                return Model.newBuilder(model).dependencies(newDeps).build();
+            }
+            return model;
+        }
+
         @Override
         protected void mergeDependency_Optional(
                 Dependency.Builder builder,
@@ -39,7 +39,9 @@
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.maven.api.Constants;
 import org.apache.maven.api.Session;
+import org.apache.maven.api.SessionData;
 import org.apache.maven.api.VersionRange;
 import org.apache.maven.api.annotations.Nullable;
 import org.apache.maven.api.di.Inject;
@@ -108,6 +110,7 @@
 import org.codehaus.plexus.interpolation.MapBasedValueSource;
 import org.codehaus.plexus.interpolation.RegexBasedInterpolator;
 import org.codehaus.plexus.interpolation.StringSearchInterpolator;
+import org.eclipse.aether.util.ConfigUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -638,8 +641,12 @@ public Result<? extends Model> buildRawModel(
     Model readFileModel(ModelBuilderRequest request, DefaultModelProblemCollector problems)
             throws ModelBuilderException {
         ModelSource modelSource = request.getSource();
-        Model model =
-                cache(getModelCache(request), modelSource, FILE, () -> doReadFileModel(modelSource, request, problems));
+        Model model = cache(
+                getModelCache(request),
+                modelSource,
+                getFileTag(request, modelSource),
+                problems,
+                () -> doReadFileModel(modelSource, request, problems));
 
         if (modelSource.getPath() != null) {
             if (getTransformerContextBuilder(request) instanceof DefaultModelTransformerContextBuilder contextBuilder) {
@@ -657,17 +664,15 @@ private Model doReadFileModel(
         Model model;
         problems.setSource(modelSource.getLocation());
         try {
-            boolean strict = request.getValidationLevel() >= ModelBuilderRequest.VALIDATION_LEVEL_MAVEN_2_0;
-
-            Path rootDirectory;
-            try {
-                rootDirectory = request.getSession().getRootDirectory();
-            } catch (IllegalStateException ignore) {
-                rootDirectory = modelSource.getPath();
-            }
+            boolean strict = isStrict(request);
+            boolean locationTracking = Features.locationTracking(request.getUserProperties());
+            StringPool stringPool = getStringPool(request);
+            Path rootDirectory = getRootDirectory(request, modelSource);
             try (InputStream is = modelSource.openStream()) {
                 model = modelProcessor.read(XmlReaderRequest.builder()
                         .strict(strict)
+                        .locationTracking(locationTracking)
+                        .stringPool(stringPool)
                         .location(modelSource.getLocation())
                         .path(modelSource.getPath())
                         .rootDirectory(rootDirectory)
@@ -680,6 +685,8 @@ private Model doReadFileModel(
                 try (InputStream is = modelSource.openStream()) {
                     model = modelProcessor.read(XmlReaderRequest.builder()
                             .strict(false)
+                            .locationTracking(locationTracking)
+                            .stringPool(stringPool)
                             .location(modelSource.getLocation())
                             .path(modelSource.getPath())
                             .rootDirectory(rootDirectory)
@@ -1186,6 +1193,18 @@ private Model importDependencyManagement(
 
         importIds.add(importing);
 
+        ModelResolver modelResolver = getModelResolver(request);
+        ImportPrefetcher prefetcher = modelResolver != null ? getImportPrefetcher(request) : null;
+        if (prefetcher != null) {
+            Session session = request.getSession()
+                    .withRemoteRepositories(request.getModelRepositoryHolder().getRepositories());
+            for (Dependency dependency : depMgmt.getDependencies()) {
+                if (ImportPrefetcher.isImport(dependency)) {
+                    prefetcher.prefetch(session, modelResolver, dependency);
+                }
+            }
+        }
+
         List<DependencyManagement> importMgmts = null;
 
         List<Dependency> deps = new ArrayList<>(depMgmt.getDependencies());
@@ -1275,6 +1294,7 @@ private DependencyManagement loadDependencyManagement(
                 artifactId,
                 version,
                 IMPORT,
+                problems,
                 () -> doLoadDependencyManagement(
                         model, request, problems, dependency, groupId, artifactId, version, importIds));
         DependencyManagement importMgmt = importModel != null ? importModel.getDependencyManagement() : null;
@@ -1407,9 +1427,51 @@ private Model doLoadDependencyManagement(
         return importModel;
     }
 
-    private static <T> T cache(
-            ModelCache cache, String groupId, String artifactId, String version, String tag, Callable<T> supplier) {
+    /**
+     * Returns the cache tag of a file model, which includes the reader settings the parsed model depends on.
+     */
+    private static String getFileTag(ModelBuilderRequest request, ModelSource modelSource) {
+        return FILE
+                + ':'
+                + isStrict(request)
+                + ':'
+                + Features.locationTracking(request.getUserProperties())
+                + ':'
+                + Features.stringPool(request.getUserProperties())
+                + ':'
+                + getRootDirectory(request, modelSource);
+    }
+
+    private static boolean isStrict(ModelBuilderRequest request) {
+        return request.getValidationLevel() >= ModelBuilderRequest.VALIDATION_LEVEL_MAVEN_2_0;
+    }
+
+    private static Path getRootDirectory(ModelBuilderRequest request, ModelSource modelSource) {
+        try {
+            return request.getSession().getRootDirectory();
+        } catch (IllegalStateException ignore) {
+            return modelSource.getPath();
+        }
+    }
+
+    private static <T> T cache(ModelCache cache, Source source, String tag, Callable<T> supplier) {
         Supplier<T> s = asSupplier(supplier);
+        if (cache == null) {
+            return s.get();
+        } else {
+            return cache.computeIfAbsent(source, tag, s);
+        }
+    }
+
+    private static <T> T cache(
+            ModelCache cache,
+            String groupId,
+            String artifactId,
+            String version,
+            String tag,
+            DefaultModelProblemCollector problems,
+            Callable<T> supplier) {
+        Supplier<T> s = new ProblemReportingSupplier<>(problems, asSupplier(supplier));
         if (cache == null) {
             return s.get();
         } else {
@@ -1417,8 +1479,9 @@ private static <T> T cache(
         }
     }
 
-    private static <T> T cache(ModelCache cache, Source source, String tag, Callable<T> supplier) {
-        Supplier<T> s = asSupplier(supplier);
+    private static <T> T cache(
+            ModelCache cache, Source source, String tag, DefaultModelProblemCollector problems, Callable<T> supplier) {
+        Supplier<T> s = new ProblemReportingSupplier<>(problems, asSupplier(supplier));
         if (cache == null) {
             return s.get();
         } else {
@@ -1426,6 +1489,38 @@ private static <T> T cache(ModelCache cache, Source source, String tag, Callable
         }
     }
 
+    /**
+     * Tells the cache whether computing an entry added problems to the collector, in which case it must not be reused
+     * by later builds.
+     */
+    private static final class ProblemReportingSupplier<T> implements DefaultModelCache.ReportingSupplier<T> {
+        private final DefaultModelProblemCollector problems;
+
+        private final Supplier<T> supplier;
+
+        private volatile boolean reportedProblems;
+
+        ProblemReportingSupplier(DefaultModelProblemCollector problems, Supplier<T> supplier) {
+            this.problems = problems;
+            this.supplier = supplier;
+        }
+
+        @Override
+        public T get() {
+            int count = problems.getProblems().size();
+            try {
+                return supplier.get();
+            } finally {
+                reportedProblems = problems.getProblems().size() > count;
+            }
+        }
+
+        @Override
+        public boolean hasReportedProblems() {
+            return reportedProblems;
+        }
+    }
+
     private static <T> Supplier<T> asSupplier(Callable<T> supplier) {
         return () -> {
             try {
@@ -1480,6 +1575,27 @@ ModelProcessor getModelProcessor() {
         return modelProcessor;
     }
 
+    private static StringPool getStringPool(ModelBuilderRequest request) {
+        Session session = request.getSession();
+        if (session == null || !Features.stringPool(request.getUserProperties())) {
+            return null;
+        }
+        return session.getData().computeIfAbsent(SessionData.key(StringPool.class), StringPool::new);
+    }
+
+    private ImportPrefetcher getImportPrefetcher(ModelBuilderRequest request) {
+        Session session = request.getSession();
+        int parallelism = ConfigUtils.getInteger(
+                request.getUserProperties(), 8, Constants.MAVEN_MODEL_BUILDER_IMPORT_PARALLELISM);
+        if (session == null || parallelism <= 1) {
+            return null;
+        }
+        return session.getData()
+                .computeIfAbsent(
+                        SessionData.key(ImportPrefetcher.class),
+                        () -> new ImportPrefetcher(modelProcessor, parallelism));
+    }
+
     private static ModelCache getModelCache(ModelBuilderRequest request) {
         return request.getModelCache();
     }
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.maven.api.Session;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Parent;
+import org.apache.maven.api.services.ModelResolver;
+import org.apache.maven.api.services.ModelSource;
+import org.apache.maven.api.services.model.ModelProcessor;
+import org.apache.maven.api.services.xml.XmlReaderRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves the POMs of imported BOMs ahead of the model builder, which builds the imports of a model one after the
+ * other. Each prefetched POM is read to prefetch its parent and the BOMs it imports in turn, so that the whole import
+ * graph is downloaded concurrently, and the builder finds the POMs locally when it gets to them. POMs already in the
+ * local repository are not prefetched at all, so that warm builds do not read them ahead of the builder.
+ * <p>
+ * This is best effort and has no effect on the models: coordinates that need interpolation are skipped, and failures
+ * are ignored, leaving them to the builder to report. A prefetcher is shared by the model builds of a session, and
+ * each set of coordinates is only prefetched once. Its threads stop when they are idle.
+ */
+class ImportPrefetcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportPrefetcher.class);
+
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    private final ModelProcessor modelProcessor;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Set<String> prefetched = ConcurrentHashMap.newKeySet();
+
+    ImportPrefetcher(ModelProcessor modelProcessor, int parallelism) {
+        this.modelProcessor = modelProcessor;
+        this.executor = new ThreadPoolExecutor(
+                parallelism, parallelism, 5, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "maven-import-prefetch-" + THREADS.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Prefetches the POM of the given imported BOM, along with its parents and imports.
+     */
+    void prefetch(Session session, ModelResolver resolver, Dependency dependency) {
+        submit(
+                session,
+                resolver,
+                dependency.getGroupId(),
+                dependency.getArtifactId(),
+                dependency.getVersion(),
+                () -> resolver.resolveModel(session, dependency, new AtomicReference<>()));
+    }
+
+    private void prefetch(Session session, ModelResolver resolver, Parent parent) {
+        submit(
+                session,
+                resolver,
+                parent.getGroupId(),
+                parent.getArtifactId(),
+                parent.getVersion(),
+                () -> resolver.resolveModel(session, parent, new AtomicReference<>()));
+    }
+
+    private void submit(
+            Session session,
+            ModelResolver resolver,
+            String groupId,
+            String artifactId,
+            String version,
+            Callable<ModelSource> resolution) {
+        if (!isLiteral(groupId) || !isLiteral(artifactId) || !isLiteral(version)) {
+            return;
+        }
+        String id = groupId + ':' + artifactId + ':' + version;
+        if (prefetched.add(id) && !isLocal(session, groupId, artifactId, version)) {
+            executor.execute(() -> {
+                try {
+                    ModelSource source = resolution.call();
+                    Model model;
+                    try (InputStream is = source.openStream()) {
+                        model = modelProcessor.read(XmlReaderRequest.builder()
+                                .strict(false)
+                                .locationTracking(false)
+                                .location(source.getLocation())
+                                .inputStream(is)
+                                .build());
+                    }
+                    if (model.getParent() != null) {
+                        prefetch(session, resolver, model.getParent());
+                    }
+                    if (model.getDependencyManagement() != null) {
+                        for (Dependency dependency :
+                                model.getDependencyManagement().getDependencies()) {
+                            if (isImport(dependency)) {
+                                prefetch(session, resolver, dependency);
+                            }
+                        }
+                    }
+                } catch (Exception e) {
+                    LOGGER.debug("Unable to prefetch {}: {}", id, e.getMessage());
+                }
+            });
+        }
+    }
+
+    private static boolean isLocal(Session session, String groupId, String artifactId, String version) {
+        try {
+            Path path = session.getPathForLocalArtifact(session.createArtifact(groupId, artifactId, version, "pom"));
+            return path != null && Files.isRegularFile(path);
+        } catch (RuntimeException e) {
+            // sessions without the artifact services cannot tell, prefetch as usual
+            return false;
+        }
+    }
+
+    static boolean isImport(Dependency dependency) {
+        return "pom".equals(dependency.getType()) && "import".equals(dependency.getScope());
+    }
+
+    private static boolean isLiteral(String value) {
+        return value != null && !value.isEmpty() && !value.contains("${");
+    }
+}
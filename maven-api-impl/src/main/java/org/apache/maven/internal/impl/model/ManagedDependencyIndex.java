@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.maven.api.Session;
+import org.apache.maven.api.SessionData;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.DependencyManagement;
+import org.apache.maven.api.services.ModelBuilderRequest;
+
+/**
+ * Immutable index of the dependencies managed by a list of imported BOMs, in the order of the import. The models of a
+ * session importing the same BOMs share the same index, and its list of dependencies: a model only adds its own
+ * managed dependencies on top of it, instead of copying every imported entry into a map of its own.
+ * <p>
+ * The importer records the resulting layer in the session, keyed by the identity of the list of managed dependencies
+ * of the model, so that the injector of the managed dependencies looks the dependencies of the model up through the
+ * index.
+ */
+final class ManagedDependencyIndex {
+
+    /**
+     * A managed dependency imported from a BOM and ignored because an earlier BOM manages it differently.
+     */
+    record Conflict(String key, String message) {}
+
+    private final List<Dependency> dependencies;
+
+    private final Map<String, Dependency> dependenciesByKey;
+
+    private final List<Conflict> conflicts;
+
+    ManagedDependencyIndex(Map<String, Dependency> dependencies, List<Conflict> conflicts) {
+        // built through the model so that the list is shared as is by the models using it
+        this.dependencies = DependencyManagement.newBuilder()
+                .dependencies(dependencies.values())
+                .build()
+                .getDependencies();
+        this.dependenciesByKey = Map.copyOf(dependencies);
+        this.conflicts = List.copyOf(conflicts);
+    }
+
+    List<Dependency> getDependencies() {
+        return dependencies;
+    }
+
+    Dependency get(String key) {
+        return dependenciesByKey.get(key);
+    }
+
+    List<Conflict> getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Returns the index of the given imports, shared by the session of the request if any.
+     */
+    static ManagedDependencyIndex computeIfAbsent(
+            ModelBuilderRequest request,
+            List<? extends DependencyManagement> sources,
+            Supplier<ManagedDependencyIndex> supplier) {
+        Session session = request.getSession();
+        if (session == null) {
+            return supplier.get();
+        }
+        return session.getData()
+                .computeIfAbsent(SessionData.key(Indexes.class), Indexes::new)
+                .computeIfAbsent(sources, request.isLocationTracking(), supplier);
+    }
+
+    /**
+     * Records the given managed dependencies of a model, made of its own managed dependencies on top of the given
+     * index, in the session of the request if any.
+     */
+    static void layer(
+            ModelBuilderRequest request,
+            List<Dependency> managed,
+            Map<String, Dependency> own,
+            ManagedDependencyIndex index) {
+        Session session = request.getSession();
+        if (session != null) {
+            session.getData()
+                    .computeIfAbsent(SessionData.key(Layers.class), Layers::new)
+                    .put(managed, new Layer(own, index));
+        }
+    }
+
+    /**
+     * Returns the lookup of the given managed dependencies if they have been recorded in the session of the request,
+     * or {@code null} otherwise.
+     */
+    static Function<Object, Dependency> lookup(ModelBuilderRequest request, DependencyManagement dependencyManagement) {
+        Session session = request.getSession();
+        if (session == null || dependencyManagement == null) {
+            return null;
+        }
+        Layers layers = session.getData().get(SessionData.key(Layers.class));
+        Layer layer = layers != null ? layers.get(dependencyManagement.getDependencies()) : null;
+        if (layer == null) {
+            return null;
+        }
+        return key -> {
+            Dependency dependency = layer.own.get(key);
+            return dependency != null ? dependency : layer.index.dependenciesByKey.get(key);
+        };
+    }
+
+    private record Layer(Map<String, Dependency> own, ManagedDependencyIndex index) {}
+
+    /**
+     * The layers of the models of a session, which do not keep the lists of managed dependencies they are keyed by
+     * reachable.
+     */
+    private static final class Layers {
+        private final Map<ManagedKey, Layer> layers = new ConcurrentHashMap<>();
+
+        private final ReferenceQueue<List<Dependency>> queue = new ReferenceQueue<>();
+
+        void put(List<Dependency> managed, Layer layer) {
+            Reference<? extends List<Dependency>> cleared = queue.poll();
+            while (cleared != null) {
+                layers.remove(cleared);
+                cleared = queue.poll();
+            }
+            layers.put(new ManagedKey(managed, queue), layer);
+        }
+
+        Layer get(List<Dependency> managed) {
+            return layers.get(new ManagedKey(managed, null));
+        }
+    }
+
+    /**
+     * A list of managed dependencies, compared by identity.
+     */
+    private static final class ManagedKey extends WeakReference<List<Dependency>> {
+        private final int hash;
+
+        ManagedKey(List<Dependency> managed, ReferenceQueue<List<Dependency>> queue) {
+            super(managed, queue);
+            this.hash = System.identityHashCode(managed);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            List<Dependency> managed = get();
+            return obj instanceof ManagedKey other && managed != null && managed == other.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * The indexes of a session, which do not keep the imported dependency managements they are keyed by reachable:
+     * imports with exclusions, for instance, produce new dependency managements for each importing model.
+     */
+    private static final class Indexes {
+        private final Map<Sources, ManagedDependencyIndex> indexes = new ConcurrentHashMap<>();
+
+        private final ReferenceQueue<DependencyManagement> queue = new ReferenceQueue<>();
+
+        ManagedDependencyIndex computeIfAbsent(
+                List<? extends DependencyManagement> sources,
+                boolean locationTracking,
+                Supplier<ManagedDependencyIndex> supplier) {
+            Reference<? extends DependencyManagement> cleared = queue.poll();
+            while (cleared != null) {
+                indexes.remove(((SourceReference) cleared).sources);
+                cleared = queue.poll();
+            }
+            return indexes.computeIfAbsent(new Sources(sources, locationTracking, queue), k -> supplier.get());
+        }
+    }
+
+    /**
+     * The imported dependency managements, compared by identity: the imported models come from the model cache.
+     * Imports without any managed dependency are left out, as they do not contribute to the index.
+     */
+    private static final class Sources {
+        private final List<SourceReference> list = new ArrayList<>();
+
+        private final boolean locationTracking;
+
+        private final int hash;
+
+        Sources(
+                List<? extends DependencyManagement> sources,
+                boolean locationTracking,
+                ReferenceQueue<DependencyManagement> queue) {
+            this.locationTracking = locationTracking;
+            int hash = Boolean.hashCode(locationTracking);
+            for (DependencyManagement source : sources) {
+                if (!source.getDependencies().isEmpty()) {
+                    list.add(new SourceReference(source, this, queue));
+                    hash = 31 * hash + System.identityHashCode(source);
+                }
+            }
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Sources other)
+                    || locationTracking != other.locationTracking
+                    || list.size() != other.list.size()) {
+                return false;
+            }
+            for (int i = 0; i < list.size(); i++) {
+                DependencyManagement source = list.get(i).get();
+                if (source == null || source != other.list.get(i).get()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class SourceReference extends WeakReference<DependencyManagement> {
+        private final Sources sources;
+
+        SourceReference(DependencyManagement source, Sources sources, ReferenceQueue<DependencyManagement> queue) {
+            super(source, queue);
+            this.sources = sources;
+        }
+    }
+}
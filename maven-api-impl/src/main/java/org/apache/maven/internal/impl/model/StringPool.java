@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Canonicalizing pool of the strings read from the POMs of a session. Most values of a POM, such as group identifiers,
+ * versions, scopes or plugin coordinates, are repeated across the models of a reactor and of its dependencies: pooling
+ * them makes the models share the same instances instead of retaining a copy per model.
+ * <p>
+ * Long strings, which are usually unique, are not pooled, and the pool stops growing once it reaches its maximum size,
+ * returning the strings unchanged.
+ */
+final class StringPool implements UnaryOperator<String> {
+
+    static final int MAX_LENGTH = 256;
+
+    static final int MAX_SIZE = 1 << 20;
+
+    private final ConcurrentHashMap<String, String> strings = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    StringPool() {
+        this(MAX_SIZE);
+    }
+
+    StringPool(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public String apply(String string) {
+        if (string == null || string.length() > MAX_LENGTH) {
+            return string;
+        }
+        String pooled = strings.get(string);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (strings.size() >= maxSize) {
+            return string;
+        }
+        pooled = strings.putIfAbsent(string, string);
+        return pooled != null ? pooled : string;
+    }
+
+    int size() {
+        return strings.size();
+    }
+}
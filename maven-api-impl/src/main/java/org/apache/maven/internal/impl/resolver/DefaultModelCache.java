@@ -18,67 +18,215 @@
  */
 package org.apache.maven.internal.impl.resolver;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
+import org.apache.maven.api.Constants;
 import org.apache.maven.api.services.ModelCache;
 import org.apache.maven.api.services.Source;
 import org.eclipse.aether.RepositoryCache;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.util.ConfigUtils;
 
 import static java.util.Objects.requireNonNull;
 
 /**
- * A model builder cache backed by the repository system cache.
+ * A model builder cache backed by the repository system cache. When enabled with
+ * {@link org.apache.maven.api.Constants#MAVEN_MODEL_CACHE_PERSISTENT}, file models and imported models are also
+ * stored on disk by a {@link PersistentModelCache} so that they can be reused by later builds. The number of entries
+ * can be bounded with {@link org.apache.maven.api.Constants#MAVEN_MODEL_CACHE_MAX_SIZE}, in which case the least
+ * recently used entries are evicted first.
  *
  */
 public class DefaultModelCache implements ModelCache {
     private static final String KEY = DefaultModelCache.class.getName();
 
+    private static final String STATISTICS_KEY = Statistics.class.getName();
+
+    private static final String PERSISTENT_KEY = PersistentModelCache.class.getName();
+
     @SuppressWarnings("unchecked")
     public static ModelCache newInstance(RepositorySystemSession session, boolean anew) {
         ConcurrentHashMap<Object, Supplier<?>> cache;
+        Statistics statistics;
         RepositoryCache repositoryCache = session != null ? session.getCache() : null;
         if (repositoryCache == null) {
-            return new DefaultModelCache(new ConcurrentHashMap<>());
+            return new DefaultModelCache(
+                    new ConcurrentHashMap<>(), new Statistics(session), PersistentModelCache.newInstance(session));
         } else {
             if (anew) {
                 cache = new ConcurrentHashMap<>();
+                statistics = new Statistics(session);
                 repositoryCache.put(session, KEY, cache);
+                repositoryCache.put(session, STATISTICS_KEY, statistics);
             } else {
                 cache = (ConcurrentHashMap<Object, Supplier<?>>)
                         repositoryCache.computeIfAbsent(session, KEY, ConcurrentHashMap::new);
+                statistics = (Statistics)
+                        repositoryCache.computeIfAbsent(session, STATISTICS_KEY, () -> new Statistics(session));
             }
-            return new DefaultModelCache(cache);
+            Optional<PersistentModelCache> persistentCache =
+                    (Optional<PersistentModelCache>) repositoryCache.computeIfAbsent(
+                            session,
+                            PERSISTENT_KEY,
+                            () -> Optional.ofNullable(PersistentModelCache.newInstance(session)));
+            return new DefaultModelCache(cache, statistics, persistentCache.orElse(null));
         }
     }
 
     private final ConcurrentMap<Object, Supplier<?>> cache;
 
+    private final Statistics statistics;
+
+    private final PersistentModelCache persistentCache;
+
     public DefaultModelCache() {
-        this(new ConcurrentHashMap<>());
+        this(new ConcurrentHashMap<>(), new Statistics(null), null);
+    }
+
+    DefaultModelCache(int maxSize) {
+        this(new ConcurrentHashMap<>(), new Statistics(maxSize), null);
     }
 
-    private DefaultModelCache(ConcurrentMap<Object, Supplier<?>> cache) {
+    private DefaultModelCache(
+            ConcurrentMap<Object, Supplier<?>> cache, Statistics statistics, PersistentModelCache persistentCache) {
         this.cache = requireNonNull(cache);
+        this.statistics = requireNonNull(statistics);
+        this.persistentCache = persistentCache;
+    }
+
+    /**
+     * Returns the number of entries currently held by this cache.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the number of lookups that found an existing entry.
+     */
+    public long getHitCount() {
+        return statistics.hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that had to create a new entry.
+     */
+    public long getMissCount() {
+        return statistics.misses.sum();
+    }
+
+    /**
+     * Returns the number of entries removed to keep the cache within its maximum size.
+     */
+    public long getEvictionCount() {
+        return statistics.evictions.sum();
     }
 
     @Override
     @SuppressWarnings({"unchecked"})
     public <T> T computeIfAbsent(String groupId, String artifactId, String version, String tag, Supplier<T> data) {
-        return (T) computeIfAbsent(new GavCacheKey(groupId, artifactId, version, tag), data);
+        GavCacheKey key = new GavCacheKey(groupId, artifactId, version, tag);
+        if (persistentCache == null) {
+            return (T) computeIfAbsent(key, data);
+        }
+        T result = (T) computeIfAbsent(key, persistentCache.computeIfAbsent(key.gav, tag, data));
+        persistentCache.imported(key.gav, tag);
+        return result;
     }
 
     @Override
     @SuppressWarnings({"unchecked"})
     public <T> T computeIfAbsent(Source path, String tag, Supplier<T> data) {
+        if (persistentCache != null) {
+            data = persistentCache.computeIfAbsent(path, tag, data);
+        }
         return (T) computeIfAbsent(new SourceCacheKey(path, tag), data);
     }
 
     protected Object computeIfAbsent(Object key, Supplier<?> data) {
-        return cache.computeIfAbsent(key, k -> new CachingSupplier<>(data)).get();
+        Supplier<?> supplier = cache.get(key);
+        if (supplier == null) {
+            CachingSupplier<?> created = new CachingSupplier<>(data);
+            supplier = cache.putIfAbsent(key, created);
+            if (supplier == null) {
+                statistics.misses.increment();
+                if (statistics.maxSize > 0) {
+                    synchronized (statistics.entries) {
+                        statistics.entries.put(key, created);
+                        evict();
+                    }
+                }
+                return created.get();
+            }
+        }
+        statistics.hits.increment();
+        if (statistics.maxSize > 0) {
+            synchronized (statistics.entries) {
+                // moves the entry to the end of the access order
+                statistics.entries.get(key);
+            }
+        }
+        return supplier.get();
+    }
+
+    /**
+     * Removes the least recently used entries until the cache fits its maximum size. Removed entries are recomputed
+     * on demand, while callers already holding them are not affected.
+     */
+    private void evict() {
+        Iterator<Map.Entry<Object, Supplier<?>>> iterator =
+                statistics.entries.entrySet().iterator();
+        while (cache.size() > statistics.maxSize && iterator.hasNext()) {
+            Map.Entry<Object, Supplier<?>> entry = iterator.next();
+            iterator.remove();
+            if (cache.remove(entry.getKey(), entry.getValue())) {
+                statistics.evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * A supplier of cache entries which tells whether computing its entry reported model problems. Such entries are
+     * not persisted, as reusing them in a later build would not report the problems again.
+     *
+     * @param <T> the type of the entries
+     */
+    public interface ReportingSupplier<T> extends Supplier<T> {
+        boolean hasReportedProblems();
+    }
+
+    /**
+     * The counters and the eviction order shared by the caches of a session.
+     */
+    static final class Statistics {
+        final int maxSize;
+
+        /**
+         * The entries in access order, only tracked when the size is bounded, and guarded by itself.
+         */
+        final Map<Object, Supplier<?>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        final LongAdder hits = new LongAdder();
+
+        final LongAdder misses = new LongAdder();
+
+        final LongAdder evictions = new LongAdder();
+
+        Statistics(RepositorySystemSession session) {
+            this(session != null ? ConfigUtils.getInteger(session, 0, Constants.MAVEN_MODEL_CACHE_MAX_SIZE) : 0);
+        }
+
+        Statistics(int maxSize) {
+            this.maxSize = maxSize;
+        }
     }
 
     static class GavCacheKey {
@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.resolver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.apache.maven.api.Constants;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.Source;
+import org.apache.maven.model.v4.MavenBinaryReader;
+import org.apache.maven.model.v4.MavenBinaryWriter;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.util.ConfigUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A disk-backed store for the {@code file} and {@code import} stages of the model builder, kept in the local
+ * repository so that it outlives the session.
+ * <p>
+ * File models are keyed by the checksum of the POM content and by their tag, which carries the settings of the reader
+ * the model has been parsed with. Imported models are keyed by their coordinates and by the
+ * system and user properties of the session, and record the checksums of all the POMs read while building them, so
+ * that a change in the imported POM or in one of its parents invalidates the entry.
+ * <p>
+ * The environment variables, exposed as {@code env.*} system properties, change from one invocation to the next and
+ * are left out of the key. Imported models built from a POM that refers to the environment are not persisted.
+ * <p>
+ * Entries whose computation reported model problems are not persisted either, as reusing them would not report the
+ * problems again. Models are stored with {@link MavenBinaryWriter}, whose schema hash rejects entries written for
+ * another version of the model.
+ */
+class PersistentModelCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistentModelCache.class);
+
+    /**
+     * Tags used by the model builder for the stages that are persisted. The tag of a file model may be followed by
+     * a colon and the settings of the reader.
+     */
+    static final String FILE = "file";
+
+    static final String IMPORT = "import";
+
+    /**
+     * Version of the entry format, to be increased whenever the layout of the entries changes.
+     */
+    private static final int FORMAT = 2;
+
+    private static final String ENV_PREFIX = "env.";
+
+    private final Path directory;
+
+    private final String propertiesChecksum;
+
+    private final Map<Path, String> checksums = new ConcurrentHashMap<>();
+
+    private final Set<Path> environmentDependent = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Sources> importSources = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Deque<Sources>> imports = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * Creates the persistent cache for the given session, or returns {@code null} if it is not enabled.
+     */
+    static PersistentModelCache newInstance(RepositorySystemSession session) {
+        if (session == null
+                || session.getLocalRepository() == null
+                || !ConfigUtils.getBoolean(session, false, Constants.MAVEN_MODEL_CACHE_PERSISTENT)) {
+            return null;
+        }
+        Path directory = session.getLocalRepository().getBasePath().resolve(".cache/models");
+        return new PersistentModelCache(directory, session.getSystemProperties(), session.getUserProperties());
+    }
+
+    PersistentModelCache(Path directory, Map<String, String> systemProperties, Map<String, String> userProperties) {
+        this.directory = directory;
+        MessageDigest digest = newDigest();
+        new TreeMap<>(systemProperties).forEach((k, v) -> {
+            if (!k.startsWith(ENV_PREFIX)) {
+                update(digest, k, v);
+            }
+        });
+        update(digest, "");
+        new TreeMap<>(userProperties).forEach((k, v) -> update(digest, k, v));
+        this.propertiesChecksum = toHex(digest.digest());
+    }
+
+    /**
+     * Wraps the supplier of a source based cache entry so that it is looked up in and written to the disk.
+     */
+    <T> Supplier<T> computeIfAbsent(Source source, String tag, Supplier<T> data) {
+        Path path = source.getPath();
+        Sources current = imports.get().peek();
+        if (path == null) {
+            if (current != null) {
+                current.persistent = false;
+            }
+            return data;
+        }
+        String checksum = checksum(path);
+        if (current != null) {
+            current.checksums.put(path.toString(), checksum);
+            current.persistent &= !environmentDependent.contains(path);
+        }
+        if (!FILE.equals(tag) && !tag.startsWith(FILE + ':')) {
+            return data;
+        }
+        String key = key(tag, source.getLocation(), path.toString(), checksum);
+        return () -> {
+            Entry entry = read(key);
+            if (entry != null) {
+                return entry.value();
+            }
+            T value = data.get();
+            if (!hasReportedProblems(data)) {
+                write(key, new Sources(), value);
+            }
+            return value;
+        };
+    }
+
+    /**
+     * Wraps the supplier of a coordinates based cache entry so that it is looked up in and written to the disk.
+     * The returned supplier must be followed by a call to {@link #imported(String, String)} once the entry has been
+     * retrieved.
+     */
+    <T> Supplier<T> computeIfAbsent(String gav, String tag, Supplier<T> data) {
+        if (!IMPORT.equals(tag)) {
+            return data;
+        }
+        String key = key(IMPORT, gav, propertiesChecksum);
+        return () -> {
+            Entry entry = read(key);
+            if (entry != null && entry.sources().isUpToDate(this)) {
+                importSources.put(key, entry.sources());
+                return entry.value();
+            }
+            Deque<Sources> stack = imports.get();
+            Sources sources = new Sources();
+            stack.push(sources);
+            T value;
+            try {
+                value = data.get();
+            } finally {
+                stack.pop();
+            }
+            sources.persistent &= !hasReportedProblems(data);
+            importSources.put(key, sources);
+            if (value != null && sources.persistent) {
+                write(key, sources, value);
+            }
+            return value;
+        };
+    }
+
+    /**
+     * Records the sources of an imported model, be it computed or already cached, into the enclosing import.
+     */
+    void imported(String gav, String tag) {
+        Sources current = imports.get().peek();
+        if (current != null && IMPORT.equals(tag)) {
+            Sources sources = importSources.get(key(IMPORT, gav, propertiesChecksum));
+            if (sources != null) {
+                current.checksums.putAll(sources.checksums);
+                current.persistent &= sources.persistent;
+            } else {
+                current.persistent = false;
+            }
+        }
+    }
+
+    private static boolean hasReportedProblems(Supplier<?> data) {
+        return data instanceof DefaultModelCache.ReportingSupplier<?> reporting && reporting.hasReportedProblems();
+    }
+
+    private String checksum(Path path) {
+        return checksums.computeIfAbsent(path, p -> {
+            try {
+                byte[] content = Files.readAllBytes(p);
+                if (new String(content, StandardCharsets.ISO_8859_1).contains(ENV_PREFIX)) {
+                    environmentDependent.add(p);
+                }
+                return toHex(newDigest().digest(content));
+            } catch (IOException e) {
+                // the model builder reports unreadable sources, make sure nothing matches in the meantime
+                return "";
+            }
+        });
+    }
+
+    private Entry read(String key) {
+        Path file = getEntryPath(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FORMAT) {
+                return null;
+            }
+            Sources sources = new Sources();
+            for (int i = in.readInt(); i > 0; i--) {
+                sources.checksums.put(in.readUTF(), in.readUTF());
+            }
+            return new Entry(sources, new MavenBinaryReader().read(in));
+        } catch (IOException | IndexOutOfBoundsException e) {
+            LOGGER.debug("Unable to read model cache entry {}", file, e);
+            return null;
+        }
+    }
+
+    private void write(String key, Sources sources, Object value) {
+        if (!(value instanceof Model model)) {
+            return;
+        }
+        Path file = getEntryPath(key);
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), key, ".tmp");
+            try {
+                try (DataOutputStream out =
+                        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                    out.writeInt(FORMAT);
+                    out.writeInt(sources.checksums.size());
+                    for (Map.Entry<String, String> checksum : sources.checksums.entrySet()) {
+                        out.writeUTF(checksum.getKey());
+                        out.writeUTF(checksum.getValue());
+                    }
+                    new MavenBinaryWriter().write(out, model);
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.debug("Unable to write model cache entry {}", file, e);
+        }
+    }
+
+    private Path getEntryPath(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static String key(String... parts) {
+        MessageDigest digest = newDigest();
+        update(digest, Integer.toString(FORMAT));
+        update(digest, parts);
+        return toHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String... parts) {
+        for (String part : parts) {
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The checksums of the POMs an entry has been built from.
+     */
+    static class Sources {
+        final Map<String, String> checksums = new TreeMap<>();
+
+        boolean persistent = true;
+
+        boolean isUpToDate(PersistentModelCache cache) {
+            return checksums.entrySet().stream()
+                    .allMatch(e -> e.getValue().equals(cache.checksum(Paths.get(e.getKey()))));
+        }
+    }
+
+    private record Entry(Sources sources, Object content) {
+        @SuppressWarnings("unchecked")
+        <T> T value() {
+            return (T) content;
+        }
+    }
+}
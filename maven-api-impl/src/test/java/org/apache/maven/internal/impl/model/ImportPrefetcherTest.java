@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.maven.api.Artifact;
+import org.apache.maven.api.Session;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.services.ModelResolver;
+import org.apache.maven.api.services.ModelResolverException;
+import org.apache.maven.api.services.ModelSource;
+import org.apache.maven.internal.impl.DefaultModelXmlFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ImportPrefetcherTest {
+
+    @TempDir
+    Path directory;
+
+    private final Set<String> resolved = ConcurrentHashMap.newKeySet();
+
+    private CountDownLatch resolutions;
+
+    private final ModelResolver resolver = new ModelResolver() {
+        @Override
+        public ModelSource resolveModel(
+                Session session, String groupId, String artifactId, String version, Consumer<String> resolvedVersion)
+                throws ModelResolverException {
+            resolved.add(artifactId);
+            resolutions.countDown();
+            Path pom = directory.resolve(artifactId + ".xml");
+            if (!Files.exists(pom)) {
+                throw new ModelResolverException("Not found", groupId, artifactId, version);
+            }
+            return ModelSource.fromPath(pom);
+        }
+    };
+
+    @Test
+    void testPrefetchParentsAndImports() throws Exception {
+        pom(
+                "bom",
+                "<parent><groupId>g</groupId><artifactId>parent</artifactId><version>1</version></parent>",
+                "<dependencyManagement><dependencies>"
+                        + "<dependency><groupId>g</groupId><artifactId>nested</artifactId><version>1</version>"
+                        + "<type>pom</type><scope>import</scope></dependency>"
+                        + "<dependency><groupId>g</groupId><artifactId>interpolated</artifactId>"
+                        + "<version>${v}</version><type>pom</type><scope>import</scope></dependency>"
+                        + "<dependency><groupId>g</groupId><artifactId>jar</artifactId><version>1</version>"
+                        + "</dependency>"
+                        + "</dependencies></dependencyManagement>");
+        pom("parent", "<parent><groupId>g</groupId><artifactId>missing</artifactId><version>1</version></parent>", "");
+        pom("nested", "", "");
+
+        ImportPrefetcher prefetcher = newPrefetcher();
+        Session session = mock(Session.class);
+        resolutions = new CountDownLatch(4);
+        prefetcher.prefetch(session, resolver, bom());
+        assertTrue(resolutions.await(10, TimeUnit.SECONDS));
+        assertEquals(Set.of("bom", "parent", "nested", "missing"), resolved);
+
+        // known coordinates are skipped before anything is submitted
+        resolved.clear();
+        prefetcher.prefetch(session, resolver, bom());
+        assertEquals(Set.of(), resolved);
+    }
+
+    @Test
+    void testSkipPomsOfLocalRepository() throws Exception {
+        pom("bom", "", "");
+        Artifact artifact = mock(Artifact.class);
+        Session session = mock(Session.class);
+        when(session.createArtifact("g", "bom", "1", "pom")).thenReturn(artifact);
+        when(session.getPathForLocalArtifact(artifact)).thenReturn(directory.resolve("bom.xml"));
+
+        resolutions = new CountDownLatch(1);
+        newPrefetcher().prefetch(session, resolver, bom());
+
+        // the local check happens before anything is submitted
+        assertEquals(Set.of(), resolved);
+    }
+
+    private static ImportPrefetcher newPrefetcher() {
+        return new ImportPrefetcher(new DefaultModelProcessor(new DefaultModelXmlFactory(), List.of()), 4);
+    }
+
+    private static Dependency bom() {
+        return Dependency.newBuilder()
+                .groupId("g")
+                .artifactId("bom")
+                .version("1")
+                .type("pom")
+                .scope("import")
+                .build();
+    }
+
+    private void pom(String artifactId, String parent, String content) throws Exception {
+        Files.writeString(
+                directory.resolve(artifactId + ".xml"),
+                "<project xmlns=\"http://maven.apache.org/POM/4.0.0\"><modelVersion>4.0.0</modelVersion>" + parent
+                        + "<groupId>g</groupId><artifactId>" + artifactId + "</artifactId><version>1</version>"
+                        + "<packaging>pom</packaging>" + content + "</project>");
+    }
+}
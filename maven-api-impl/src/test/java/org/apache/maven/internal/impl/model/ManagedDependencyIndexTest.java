@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.apache.maven.api.Session;
+import org.apache.maven.api.SessionData;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.DependencyManagement;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.ModelBuilderRequest;
+import org.apache.maven.api.services.ModelSource;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ManagedDependencyIndexTest {
+
+    private final DefaultDependencyManagementImporter importer = new DefaultDependencyManagementImporter();
+
+    private final DefaultDependencyManagementInjector injector = new DefaultDependencyManagementInjector();
+
+    private final ModelBuilderRequest request = request();
+
+    private final DependencyManagement bom1 = DependencyManagement.newBuilder()
+            .dependencies(List.of(dependency("a", "1"), dependency("b", "1")))
+            .build();
+
+    private final DependencyManagement bom2 = DependencyManagement.newBuilder()
+            .dependencies(List.of(dependency("b", "2"), dependency("c", "2")))
+            .build();
+
+    @Test
+    void testModelsShareTheImportedDependencies() {
+        Model module1 = importManagement(Model.newInstance());
+        Model module2 = importManagement(Model.newInstance());
+
+        List<Dependency> managed = module1.getDependencyManagement().getDependencies();
+        assertThat(managed).extracting(Dependency::getArtifactId).containsExactly("a", "b", "c");
+        assertThat(managed.get(1).getVersion()).isEqualTo("1");
+        assertThat(module2.getDependencyManagement().getDependencies()).isSameAs(managed);
+    }
+
+    @Test
+    void testImportsWithoutManagedDependenciesDoNotPreventSharing() {
+        DefaultModelProblemCollector problems = new DefaultModelProblemCollector(new DefaultModelBuilderResult());
+        Model module1 = importer.importManagement(
+                Model.newInstance(), List.of(bom1, DependencyManagement.newInstance(), bom2), request, problems);
+        Model module2 = importer.importManagement(
+                Model.newInstance(), List.of(bom1, DependencyManagement.newInstance(), bom2), request, problems);
+
+        assertThat(module2.getDependencyManagement().getDependencies())
+                .isSameAs(module1.getDependencyManagement().getDependencies());
+    }
+
+    @Test
+    void testDirectDependenciesComeFirstAndWin() {
+        Model model = Model.newBuilder()
+                .dependencyManagement(DependencyManagement.newBuilder()
+                        .dependencies(List.of(dependency("c", "3"), dependency("d", "3")))
+                        .build())
+                .build();
+
+        List<Dependency> managed =
+                importManagement(model).getDependencyManagement().getDependencies();
+
+        assertThat(managed)
+                .extracting(d -> d.getArtifactId() + ":" + d.getVersion())
+                .containsExactly("c:3", "d:3", "a:1", "b:1");
+    }
+
+    @Test
+    void testConflictsAreReportedForEachModel() {
+        DefaultModelProblemCollector problems1 = new DefaultModelProblemCollector(new DefaultModelBuilderResult());
+        DefaultModelProblemCollector problems2 = new DefaultModelProblemCollector(new DefaultModelBuilderResult());
+        DefaultModelProblemCollector problems3 = new DefaultModelProblemCollector(new DefaultModelBuilderResult());
+        Model overriding = Model.newBuilder()
+                .dependencyManagement(DependencyManagement.newBuilder()
+                        .dependencies(List.of(dependency("b", "3")))
+                        .build())
+                .build();
+
+        importer.importManagement(Model.newInstance(), List.of(bom1, bom2), request, problems1);
+        importer.importManagement(Model.newInstance(), List.of(bom1, bom2), request, problems2);
+        importer.importManagement(overriding, List.of(bom1, bom2), request, problems3);
+
+        assertThat(problems1.getProblems()).hasSize(1);
+        assertThat(problems1.getProblems().get(0).getMessage()).contains("Ignored POM import for: g:b:jar:2");
+        assertThat(problems2.getProblems()).hasSize(1);
+        assertThat(problems3.getProblems()).isEmpty();
+    }
+
+    @Test
+    void testInjectionLooksUpThroughTheIndex() {
+        Model model = Model.newBuilder()
+                .dependencies(List.of(
+                        Dependency.newBuilder().groupId("g").artifactId("b").build(),
+                        Dependency.newBuilder().groupId("g").artifactId("d").build()))
+                .dependencyManagement(DependencyManagement.newBuilder()
+                        .dependencies(List.of(dependency("d", "3")))
+                        .build())
+                .build();
+
+        Model result = injector.injectManagement(importManagement(model), request, null);
+
+        assertThat(result.getDependencies())
+                .extracting(d -> d.getArtifactId() + ":" + d.getVersion())
+                .containsExactly("b:1", "d:3");
+    }
+
+    @Test
+    void testInjectionFindsTheLayerOfItsModelOnAnyThread() throws Exception {
+        Model model1 = importManagement(Model.newBuilder()
+                .dependencies(List.of(
+                        Dependency.newBuilder().groupId("g").artifactId("c").build()))
+                .dependencyManagement(DependencyManagement.newBuilder()
+                        .dependencies(List.of(dependency("c", "3")))
+                        .build())
+                .build());
+        Model model2 = importManagement(Model.newBuilder()
+                .dependencies(List.of(
+                        Dependency.newBuilder().groupId("g").artifactId("c").build()))
+                .build());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Model result1 = executor.submit(() -> injector.injectManagement(model1, request, null))
+                    .get();
+            Model result2 = injector.injectManagement(model2, request, null);
+
+            assertThat(ManagedDependencyIndex.lookup(request, model1.getDependencyManagement()))
+                    .isNotNull();
+            assertThat(result1.getDependencies().get(0).getVersion()).isEqualTo("3");
+            assertThat(result2.getDependencies().get(0).getVersion()).isEqualTo("2");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Model importManagement(Model model) {
+        return importer.importManagement(
+                model, List.of(bom1, bom2), request, new DefaultModelProblemCollector(new DefaultModelBuilderResult()));
+    }
+
+    private static Dependency dependency(String artifactId, String version) {
+        return Dependency.newBuilder()
+                .groupId("g")
+                .artifactId(artifactId)
+                .version(version)
+                .build();
+    }
+
+    private static ModelBuilderRequest request() {
+        Map<SessionData.Key<?>, Object> data = new ConcurrentHashMap<>();
+        Session session = mock(Session.class);
+        when(session.getData()).thenReturn(new SessionData() {
+            @Override
+            public <T> void set(Key<T> key, T value) {
+                data.put(key, value);
+            }
+
+            @Override
+            public <T> boolean replace(Key<T> key, T oldValue, T newValue) {
+                return data.replace(key, oldValue, newValue);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T get(Key<T> key) {
+                return (T) data.get(key);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T computeIfAbsent(Key<T> key, Supplier<T> supplier) {
+                return (T) data.computeIfAbsent(key, k -> supplier.get());
+            }
+        });
+        return ModelBuilderRequest.builder()
+                .session(session)
+                .source(mock(ModelSource.class))
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class StringPoolTest {
+
+    @Test
+    void testCanonicalInstances() {
+        StringPool pool = new StringPool();
+        String first = pool.apply(new String("org.apache.maven"));
+        assertSame(first, pool.apply(new String("org.apache.maven")));
+        assertEquals(1, pool.size());
+        assertNull(pool.apply(null));
+    }
+
+    @Test
+    void testLongStringsAreNotPooled() {
+        StringPool pool = new StringPool();
+        String description = "x".repeat(StringPool.MAX_LENGTH + 1);
+        assertSame(description, pool.apply(description));
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    void testBoundedSize() {
+        StringPool pool = new StringPool(2);
+        String a = pool.apply(new String("a"));
+        pool.apply("b");
+        String c = new String("c");
+        assertSame(c, pool.apply(c));
+        assertSame(a, pool.apply(new String("a")));
+        assertEquals(2, pool.size());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.resolver;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DefaultModelCacheTest {
+
+    @Test
+    void testUnboundedCache() {
+        DefaultModelCache cache = new DefaultModelCache();
+        AtomicInteger computed = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            for (String artifactId : new String[] {"a", "b", "c"}) {
+                cache.computeIfAbsent("g", artifactId, "1", "raw", computed::incrementAndGet);
+            }
+        }
+        assertEquals(3, computed.get());
+        assertEquals(3, cache.size());
+        assertEquals(6, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    void testBoundedCacheEvictsLeastRecentlyUsedEntries() {
+        DefaultModelCache cache = new DefaultModelCache(2);
+        AtomicInteger computed = new AtomicInteger();
+        cache.computeIfAbsent("g", "a", "1", "raw", computed::incrementAndGet);
+        cache.computeIfAbsent("g", "b", "1", "raw", computed::incrementAndGet);
+        cache.computeIfAbsent("g", "c", "1", "raw", computed::incrementAndGet);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+
+        int c = cache.computeIfAbsent("g", "c", "1", "raw", computed::incrementAndGet);
+        assertEquals(3, c);
+        assertEquals(1, cache.getHitCount());
+
+        int a = cache.computeIfAbsent("g", "a", "1", "raw", computed::incrementAndGet);
+        assertEquals(4, a);
+        assertEquals(4, cache.getMissCount());
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testBoundedCacheKeepsRecentlyUsedEntries() {
+        DefaultModelCache cache = new DefaultModelCache(2);
+        AtomicInteger computed = new AtomicInteger();
+        cache.computeIfAbsent("g", "a", "1", "raw", computed::incrementAndGet);
+        cache.computeIfAbsent("g", "b", "1", "raw", computed::incrementAndGet);
+        cache.computeIfAbsent("g", "a", "1", "raw", computed::incrementAndGet);
+        cache.computeIfAbsent("g", "c", "1", "raw", computed::incrementAndGet);
+        assertEquals(1, cache.getEvictionCount());
+
+        int a = cache.computeIfAbsent("g", "a", "1", "raw", computed::incrementAndGet);
+        assertEquals(1, a);
+        int b = cache.computeIfAbsent("g", "b", "1", "raw", computed::incrementAndGet);
+        assertEquals(4, b);
+    }
+}
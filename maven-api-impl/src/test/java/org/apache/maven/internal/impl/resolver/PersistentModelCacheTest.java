@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.resolver;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.Source;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PersistentModelCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testFileModelIsReusedUntilSourceChanges() throws Exception {
+        Path pom = tempDir.resolve("pom.xml");
+        Files.writeString(pom, "<project/>");
+        Source source = Source.fromPath(pom);
+        AtomicInteger computed = new AtomicInteger();
+
+        readFile(newCache(Map.of()), source, computed);
+        assertEquals(1, computed.get());
+        Model model = readFile(newCache(Map.of()), source, computed);
+        assertEquals(1, computed.get());
+        assertEquals("test", model.getArtifactId());
+        assertEquals(pom, model.getPomFile());
+
+        Files.writeString(pom, "<project></project>");
+        readFile(newCache(Map.of()), source, computed);
+        assertEquals(2, computed.get());
+    }
+
+    @Test
+    void testFileModelIsKeyedByReaderSettings() throws Exception {
+        Path pom = tempDir.resolve("pom.xml");
+        Files.writeString(pom, "<project/>");
+        Source source = Source.fromPath(pom);
+        AtomicInteger computed = new AtomicInteger();
+
+        readFile(newCache(Map.of()), source, PersistentModelCache.FILE + ":true:true:false:" + tempDir, computed);
+        readFile(newCache(Map.of()), source, PersistentModelCache.FILE + ":true:true:false:" + tempDir, computed);
+        assertEquals(1, computed.get());
+
+        readFile(newCache(Map.of()), source, PersistentModelCache.FILE + ":false:true:false:" + tempDir, computed);
+        assertEquals(2, computed.get());
+        readFile(newCache(Map.of()), source, PersistentModelCache.FILE + ":true:true:true:" + tempDir, computed);
+        assertEquals(3, computed.get());
+        readFile(newCache(Map.of()), source, PersistentModelCache.FILE + ":true:true:false:" + pom, computed);
+        assertEquals(4, computed.get());
+        readFile(newCache(Map.of()), source, PersistentModelCache.FILE + ":true:false:false:" + tempDir, computed);
+        assertEquals(5, computed.get());
+    }
+
+    @Test
+    void testImportedModelIsInvalidatedByItsSources() throws Exception {
+        Path parent = tempDir.resolve("parent.pom");
+        Files.writeString(parent, "<project/>");
+        AtomicInteger computed = new AtomicInteger();
+
+        importModel(newCache(Map.of()), Source.fromPath(parent), computed);
+        importModel(newCache(Map.of()), Source.fromPath(parent), computed);
+        assertEquals(1, computed.get());
+
+        importModel(newCache(Map.of("foo", "bar")), Source.fromPath(parent), computed);
+        assertEquals(2, computed.get());
+
+        Files.writeString(parent, "<project></project>");
+        importModel(newCache(Map.of()), Source.fromPath(parent), computed);
+        assertEquals(3, computed.get());
+    }
+
+    @Test
+    void testImportedModelIgnoresTheEnvironment() throws Exception {
+        Path parent = tempDir.resolve("parent.pom");
+        Files.writeString(parent, "<project/>");
+        AtomicInteger computed = new AtomicInteger();
+
+        importModel(newCache(Map.of("env.PWD", "/a"), Map.of()), Source.fromPath(parent), computed);
+        importModel(newCache(Map.of("env.PWD", "/b"), Map.of()), Source.fromPath(parent), computed);
+        assertEquals(1, computed.get());
+
+        Files.writeString(parent, "<project><url>${env.PWD}</url></project>");
+        importModel(newCache(Map.of("env.PWD", "/a"), Map.of()), Source.fromPath(parent), computed);
+        importModel(newCache(Map.of("env.PWD", "/b"), Map.of()), Source.fromPath(parent), computed);
+        assertEquals(3, computed.get());
+    }
+
+    @Test
+    void testModelsWithProblemsAreReportedByEachBuild() throws Exception {
+        Path pom = tempDir.resolve("pom.xml");
+        Files.writeString(pom, "<project/>");
+        Source source = Source.fromPath(pom);
+        String tag = PersistentModelCache.FILE + ":true:true:false:" + tempDir;
+
+        for (int build = 0; build < 2; build++) {
+            PersistentModelCache cache = newCache(Map.of());
+            List<String> problems = new ArrayList<>();
+            cache.computeIfAbsent(source, tag, new Reporting(problems, "Malformed POM"))
+                    .get();
+            cache.computeIfAbsent(
+                            "org.apache.maven.its:bom:1.0",
+                            PersistentModelCache.IMPORT,
+                            new Reporting(problems, "BOM imports from within reactor should be avoided"))
+                    .get();
+            cache.imported("org.apache.maven.its:bom:1.0", PersistentModelCache.IMPORT);
+
+            assertEquals(List.of("Malformed POM", "BOM imports from within reactor should be avoided"), problems);
+        }
+    }
+
+    private PersistentModelCache newCache(Map<String, String> userProperties) {
+        return newCache(Map.of(), userProperties);
+    }
+
+    private PersistentModelCache newCache(Map<String, String> systemProperties, Map<String, String> userProperties) {
+        Map<String, String> properties = new HashMap<>(systemProperties);
+        properties.put("java.version", "17");
+        return new PersistentModelCache(tempDir.resolve("cache"), properties, userProperties);
+    }
+
+    private static Model readFile(PersistentModelCache cache, Source source, AtomicInteger computed) {
+        return readFile(cache, source, PersistentModelCache.FILE, computed);
+    }
+
+    private static Model readFile(PersistentModelCache cache, Source source, String tag, AtomicInteger computed) {
+        return cache.computeIfAbsent(source, tag, () -> {
+                    computed.incrementAndGet();
+                    return Model.newBuilder()
+                            .groupId("org.apache.maven.its")
+                            .artifactId("test")
+                            .pomFile(source.getPath())
+                            .build();
+                })
+                .get();
+    }
+
+    private static Model importModel(PersistentModelCache cache, Source parent, AtomicInteger computed) {
+        Model model = cache.computeIfAbsent("org.apache.maven.its:bom:1.0", PersistentModelCache.IMPORT, () -> {
+                    computed.incrementAndGet();
+                    return readFile(cache, parent, new AtomicInteger());
+                })
+                .get();
+        cache.imported("org.apache.maven.its:bom:1.0", PersistentModelCache.IMPORT);
+        return model;
+    }
+
+    /**
+     * Computes a model while reporting a problem, like the model builder does for a malformed POM.
+     */
+    private static final class Reporting implements DefaultModelCache.ReportingSupplier<Model> {
+        private final List<String> problems;
+
+        private final String problem;
+
+        Reporting(List<String> problems, String problem) {
+            this.problems = problems;
+            this.problem = problem;
+        }
+
+        @Override
+        public Model get() {
+            problems.add(problem);
+            return Model.newBuilder().artifactId("test").build();
+        }
+
+        @Override
+        public boolean hasReportedProblems() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.settings.v4;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.apache.maven.api.settings.InputSource;
+import org.apache.maven.api.settings.Settings;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class SettingsBinaryTest {
+
+    @Test
+    void testRoundtrip() throws Exception {
+        String xml = "<settings>\n"
+                + "  <localRepository>/tmp/repository</localRepository>\n"
+                + "  <offline>true</offline>\n"
+                + "  <servers>\n"
+                + "    <server>\n"
+                + "      <id>central</id>\n"
+                + "      <configuration><timeout>1000</timeout></configuration>\n"
+                + "    </server>\n"
+                + "  </servers>\n"
+                + "  <profiles>\n"
+                + "    <profile>\n"
+                + "      <id>test</id>\n"
+                + "      <properties><key>value</key></properties>\n"
+                + "    </profile>\n"
+                + "  </profiles>\n"
+                + "  <activeProfiles><activeProfile>test</activeProfile></activeProfiles>\n"
+                + "</settings>";
+        Settings settings = new SettingsStaxReader().read(new StringReader(xml), true, new InputSource("settings.xml"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SettingsBinaryWriter().write(out, settings);
+        Settings read = new SettingsBinaryReader().read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(toXml(settings), toXml(read));
+        assertNotNull(read.getLocation("localRepository"));
+        assertEquals(
+                settings.getLocation("localRepository").getLineNumber(),
+                read.getLocation("localRepository").getLineNumber());
+        assertEquals(
+                "settings.xml", read.getLocation("localRepository").getSource().getLocation());
+    }
+
+    private static String toXml(Settings settings) throws Exception {
+        StringWriter sw = new StringWriter();
+        new SettingsStaxWriter().write(sw, settings);
+        return sw.toString();
+    }
+}
@@ -26,8 +26,10 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>
@@ -66,12 +68,26 @@ public class ComparableVersion implements Comparable<ComparableVersion> {
 
     private static final int MAX_LONGITEM_LENGTH = 18;
 
+    /**
+     * Upper bound of the parsed versions cache, which is cleared when it is reached.
+     */
+    private static final int MAX_CACHE_SIZE = 16384;
+
+    /**
+     * Parsed versions, shared between instances as they are never modified once parsed.
+     */
+    private static final Map<String, Parsed> CACHE = new ConcurrentHashMap<>();
+
     private String value;
 
     private String canonical;
 
     private ListItem items;
 
+    private CompactVersion compact;
+
+    private int hash;
+
     private interface Item {
         int INT_ITEM = 3;
         int LONG_ITEM = 4;
@@ -653,15 +669,159 @@ private String toListString() {
         }
     }
 
+    /**
+     * The result of parsing a version string.
+     */
+    private record Parsed(ListItem items, CompactVersion compact, int hash) {}
+
+    /**
+     * A flat form of the most common versions: numbers optionally followed by a single qualifier, itself optionally
+     * followed by a number, like {@code 1.2.3}, {@code 1.2.3-SNAPSHOT} or {@code 2.0-rc1}. Such versions are compared
+     * on their numbers and qualifier ranks, with the same result as the comparison of their items.
+     */
+    private static final class CompactVersion {
+        private static final int RELEASE_RANK = StringItem.QUALIFIERS.indexOf("");
+
+        private static final int UNKNOWN_RANK = StringItem.QUALIFIERS.size();
+
+        private final int[] numbers;
+
+        /**
+         * The rank of the qualifier in the well-known qualifiers, or -1 when there is no qualifier.
+         */
+        private final int qualifierRank;
+
+        /**
+         * The qualifier, only used to compare unknown qualifiers lexically.
+         */
+        private final String qualifier;
+
+        /**
+         * The number following the qualifier, or -1 when there is none.
+         */
+        private final int qualifierNumber;
+
+        private CompactVersion(int[] numbers, int qualifierRank, String qualifier, int qualifierNumber) {
+            this.numbers = numbers;
+            this.qualifierRank = qualifierRank;
+            this.qualifier = qualifier;
+            this.qualifierNumber = qualifierNumber;
+        }
+
+        /**
+         * Returns the compact form of the given items, or {@code null} if they do not have one.
+         */
+        static CompactVersion of(ListItem items) {
+            int size = items.size();
+            Item last = size > 0 ? items.get(size - 1) : null;
+            int count = last instanceof ListItem ? size - 1 : size;
+            int[] numbers = new int[count];
+            for (int i = 0; i < count; i++) {
+                if (!(items.get(i) instanceof IntItem intItem)) {
+                    return null;
+                }
+                numbers[i] = intItem.value;
+            }
+            if (count == size) {
+                return new CompactVersion(numbers, -1, null, -1);
+            }
+            ListItem sublist = (ListItem) last;
+            if (sublist.size() != 1) {
+                return null;
+            }
+            Item item = sublist.get(0);
+            if (item instanceof StringItem stringItem) {
+                return new CompactVersion(numbers, rank(stringItem.value), stringItem.value, -1);
+            } else if (item instanceof CombinationItem combination
+                    && combination.getDigitPart() instanceof IntItem digitPart) {
+                String qualifier = combination.getStringPart().value;
+                return new CompactVersion(numbers, rank(qualifier), qualifier, digitPart.value);
+            }
+            return null;
+        }
+
+        private static int rank(String qualifier) {
+            if (StringItem.RELEASE_QUALIFIERS.contains(qualifier)) {
+                return RELEASE_RANK;
+            }
+            int rank = StringItem.QUALIFIERS.indexOf(qualifier);
+            return rank >= 0 ? rank : UNKNOWN_RANK;
+        }
+
+        int compareTo(CompactVersion other) {
+            int length = numbers.length;
+            int otherLength = other.numbers.length;
+            for (int i = 0, common = Math.min(length, otherLength); i < common; i++) {
+                int result = Integer.compare(numbers[i], other.numbers[i]);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            if (length > otherLength) {
+                // a number is greater than a qualifier: 1.1 > 1-1
+                return other.qualifierRank >= 0 ? 1 : compareToNull(otherLength);
+            } else if (length < otherLength) {
+                return qualifierRank >= 0 ? -1 : -other.compareToNull(length);
+            } else if (qualifierRank < 0) {
+                return other.qualifierRank < 0 ? 0 : -other.compareToNull(length);
+            } else if (other.qualifierRank < 0) {
+                return compareToNull(length);
+            }
+            int result = compareQualifiers(other);
+            if (result != 0) {
+                return result;
+            } else if (qualifierNumber < 0) {
+                // X < X1
+                return other.qualifierNumber < 0 ? 0 : -1;
+            } else {
+                return other.qualifierNumber < 0 ? 1 : Integer.compare(qualifierNumber, other.qualifierNumber);
+            }
+        }
+
+        /**
+         * Compares the items from the given index with a missing item: 1.0 == 1, 1-rc < 1, 1-sp > 1.
+         */
+        private int compareToNull(int from) {
+            for (int i = from; i < numbers.length; i++) {
+                if (numbers[i] != 0) {
+                    return 1;
+                }
+            }
+            return qualifierRank < 0 ? 0 : Integer.compare(qualifierRank, RELEASE_RANK);
+        }
+
+        private int compareQualifiers(CompactVersion other) {
+            if (qualifierRank == UNKNOWN_RANK && other.qualifierRank == UNKNOWN_RANK) {
+                return qualifier.compareTo(other.qualifier);
+            }
+            return Integer.compare(qualifierRank, other.qualifierRank);
+        }
+    }
+
     public ComparableVersion(String version) {
         parseVersion(version);
     }
 
-    @SuppressWarnings("checkstyle:innerassignment")
     public final void parseVersion(String version) {
+        Parsed parsed = CACHE.get(version);
+        if (parsed == null) {
+            ListItem items = parseItems(version);
+            parsed = new Parsed(items, CompactVersion.of(items), items.hashCode());
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                CACHE.clear();
+            }
+            CACHE.put(version, parsed);
+        }
         this.value = version;
+        this.canonical = null;
+        this.items = parsed.items();
+        this.compact = parsed.compact();
+        this.hash = parsed.hash();
+    }
 
-        items = new ListItem();
+    @SuppressWarnings("checkstyle:innerassignment")
+    private static ListItem parseItems(String version) {
+        ListItem items = new ListItem();
 
         version = version.toLowerCase(Locale.ENGLISH);
 
@@ -749,6 +909,8 @@ public final void parseVersion(String version) {
             list = (ListItem) stack.pop();
             list.normalize();
         }
+
+        return items;
     }
 
     private static Item parseItem(boolean isDigit, String buf) {
@@ -787,6 +949,9 @@ private static String stripLeadingZeroes(String buf) {
 
     @Override
     public int compareTo(ComparableVersion o) {
+        if (compact != null && o.compact != null) {
+            return compact.compareTo(o.compact);
+        }
         return items.compareTo(o.items);
     }
 
@@ -809,7 +974,7 @@ public boolean equals(Object o) {
 
     @Override
     public int hashCode() {
-        return items.hashCode();
+        return hash;
     }
 
     // CHECKSTYLE_OFF: LineLength
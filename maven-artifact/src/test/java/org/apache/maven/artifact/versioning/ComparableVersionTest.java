@@ -375,6 +375,42 @@ void testReuse() {
         assertEquals(c1, c2, "reused instance should be equivalent to new instance");
     }
 
+    @Test
+    void testReuseCanonical() {
+        ComparableVersion c1 = new ComparableVersion("1.0");
+        assertEquals("1", c1.getCanonical());
+        c1.parseVersion("2.0-rc1");
+
+        assertEquals(newComparable("2.0-rc1").getCanonical(), c1.getCanonical());
+    }
+
+    /**
+     * Simple versions are compared on a compact form, others on their items: both must agree.
+     */
+    @Test
+    void testCompactAndItemsOrder() {
+        checkVersionsOrder(new String[] {
+            "1.0-alpha-1",
+            "1.0-beta1",
+            "1.0-beta-2",
+            "1.0-rc",
+            "1.0-rc.1",
+            "1.0-rc1",
+            "1.0-snapshot",
+            "1.0",
+            "1.0-sp",
+            "1.0-foo",
+            "1.0-foo.1",
+            "1.0-1",
+            "1.0.1",
+            "1.0.1.123456789012",
+            "1.1",
+            "1.12345678901234567890"
+        });
+        checkVersionsHaveSameOrder("1-ga", "1.0.0-final");
+        checkVersionsEqual("1-cr2", "1.0-rc-2");
+    }
+
     /**
      * Test <a href="https://issues.apache.org/jira/browse/MNG-7644">MNG-7644</a> edge cases
      * 1.0.0.RC1 &lt; 1.0.0-RC2 and more generally:
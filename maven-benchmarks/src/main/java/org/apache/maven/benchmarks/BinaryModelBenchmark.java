@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.api.model.InputSource;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.model.v4.MavenBinaryReader;
+import org.apache.maven.model.v4.MavenBinaryWriter;
+import org.apache.maven.model.v4.MavenStaxReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading of a POM with its locations from XML compared to reading the binary snapshot of the same model.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryModelBenchmark {
+
+    /**
+     * The POM to read: the root POM of this build, which has a bit of everything.
+     */
+    private static final String POM = "../pom.xml";
+
+    private byte[] xml;
+
+    private byte[] binary;
+
+    @Setup
+    public void setup() throws Exception {
+        xml = Files.readAllBytes(Paths.get(POM));
+        Model model = readXml();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new MavenBinaryWriter().write(out, model);
+        binary = out.toByteArray();
+    }
+
+    @Benchmark
+    public Model readXml() throws Exception {
+        return new MavenStaxReader().read(new ByteArrayInputStream(xml), true, new InputSource("pom", POM));
+    }
+
+    @Benchmark
+    public Model readBinary() throws Exception {
+        return new MavenBinaryReader().read(new ByteArrayInputStream(binary));
+    }
+}
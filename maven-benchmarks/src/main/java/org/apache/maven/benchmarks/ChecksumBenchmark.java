@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.api.services.ChecksumAlgorithmService.ChecksumAlgorithm;
+import org.apache.maven.internal.impl.DefaultChecksumAlgorithmService;
+import org.eclipse.aether.internal.impl.checksum.DefaultChecksumAlgorithmFactorySelector;
+import org.eclipse.aether.internal.impl.checksum.Sha1ChecksumAlgorithmFactory;
+import org.eclipse.aether.internal.impl.checksum.Sha256ChecksumAlgorithmFactory;
+import org.eclipse.aether.internal.impl.checksum.Sha512ChecksumAlgorithmFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * SHA-1, SHA-256 and SHA-512 of an artifact, read through a stream compared to the memory-mapped file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChecksumBenchmark {
+
+    @Param({"1", "64"})
+    private int megabytes;
+
+    private final DefaultChecksumAlgorithmService service =
+            new DefaultChecksumAlgorithmService(new DefaultChecksumAlgorithmFactorySelector(Map.of(
+                    Sha1ChecksumAlgorithmFactory.NAME, new Sha1ChecksumAlgorithmFactory(),
+                    Sha256ChecksumAlgorithmFactory.NAME, new Sha256ChecksumAlgorithmFactory(),
+                    Sha512ChecksumAlgorithmFactory.NAME, new Sha512ChecksumAlgorithmFactory())));
+
+    private Collection<ChecksumAlgorithm> algorithms;
+
+    private Path file;
+
+    @Setup
+    public void setup() throws Exception {
+        algorithms = service.select(Arrays.asList("SHA-1", "SHA-256", "SHA-512"));
+        byte[] data = new byte[megabytes * 1024 * 1024];
+        new Random(0).nextBytes(data);
+        file = Files.write(Files.createTempFile("checksum", ".jar"), data);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Map<ChecksumAlgorithm, String> stream() throws Exception {
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
+            return service.calculate(is, algorithms);
+        }
+    }
+
+    @Benchmark
+    public Map<ChecksumAlgorithm, String> file() throws Exception {
+        return service.calculate(file, algorithms);
+    }
+}
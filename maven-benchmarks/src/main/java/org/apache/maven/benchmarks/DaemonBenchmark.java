@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.cli.MavenCli;
+import org.apache.maven.cli.daemon.MavenDaemon;
+import org.apache.maven.cli.daemon.MavenDaemonClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Builds a small reactor up to the {@code validate} phase, either with a new container for each build as the CLI
+ * does, or through a resident {@link MavenDaemon}. Both run in a JIT-warm JVM, so the difference is the cost of
+ * setting up the container and the caches of its components; a cold CLI run also pays for the JVM startup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DaemonBenchmark {
+
+    private static final int MODULES = 10;
+
+    private Path directory;
+
+    private Path socket;
+
+    private MavenDaemon daemon;
+
+    private String[] args;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Paths.get("target/fixtures/daemon").toAbsolutePath();
+        Fixtures.reactor(directory, MODULES);
+        System.setProperty(MavenCli.MULTIMODULE_PROJECT_DIRECTORY, directory.toString());
+        args = new String[] {
+            "-B", "-q", "-o", "-Dmaven.repo.local=" + directory.resolve("target/repository"), "validate"
+        };
+
+        socket = Files.createTempDirectory("maven-daemon").resolve("daemon.sock");
+        daemon = new MavenDaemon(socket, null);
+        daemon.bind();
+        Thread thread = new Thread(() -> {
+            try {
+                daemon.run();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        daemon.close();
+        Files.deleteIfExists(socket.getParent());
+    }
+
+    @Benchmark
+    public int cold() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream stream = new PrintStream(out);
+        return check(new MavenCli().doMain(args, directory.toString(), stream, stream), out);
+    }
+
+    @Benchmark
+    public int resident() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        return check(
+                MavenDaemonClient.execute(
+                        socket, args, directory.toString(), directory.toString(), Map.of(), false, out, out),
+                out);
+    }
+
+    private static int check(int result, ByteArrayOutputStream out) {
+        if (result != 0) {
+            throw new IllegalStateException("Build failed:\n" + out);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Generates the fixtures used by the benchmarks. The fixtures are generated from a fixed seed, so that all runs
+ * measure the same inputs.
+ */
+final class Fixtures {
+
+    static final long SEED = 0x4d6176656eL;
+
+    private Fixtures() {}
+
+    /**
+     * Returns version strings looking like the ones found in repositories: releases, qualifiers, snapshots, dates
+     * and long numbers.
+     */
+    static List<String> versions(int count) {
+        String[] qualifiers = {"", "-alpha-1", "-beta-2", "-rc-1", "-SNAPSHOT", ".Final", "-jre", "-M3", "-sp1"};
+        Random random = new Random(SEED);
+        List<String> versions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            switch (random.nextInt(10)) {
+                case 0 -> versions.add("2024" + (1000 + random.nextInt(8999)) + "." + random.nextInt(100000));
+                case 1 -> versions.add("1.0.0." + (1L << 40) * (1 + random.nextInt(1000)));
+                default -> versions.add(random.nextInt(10) + "." + random.nextInt(30) + "." + random.nextInt(20)
+                        + qualifiers[random.nextInt(qualifiers.length)]);
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Generates a reactor made of a parent POM and the given number of modules. Each module inherits from the parent
+     * and depends on up to three previous modules.
+     *
+     * @return the POM files of the modules
+     */
+    static List<Path> reactor(Path directory, int modules) {
+        try {
+            delete(directory);
+            Files.createDirectories(directory);
+            Random random = new Random(SEED);
+            StringBuilder parent = new StringBuilder();
+            parent.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+                    .append("  <modelVersion>4.0.0</modelVersion>\n")
+                    .append("  <groupId>org.apache.maven.benchmarks</groupId>\n")
+                    .append("  <artifactId>reactor</artifactId>\n")
+                    .append("  <version>1.0-SNAPSHOT</version>\n")
+                    .append("  <packaging>pom</packaging>\n")
+                    .append("  <properties>\n")
+                    .append("    <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>\n")
+                    .append("    <maven.compiler.release>17</maven.compiler.release>\n")
+                    .append("    <compiler.args>-Xlint:all</compiler.args>\n")
+                    .append("  </properties>\n")
+                    .append("  <modules>\n");
+            for (int i = 0; i < modules; i++) {
+                parent.append("    <module>module-").append(i).append("</module>\n");
+            }
+            parent.append("  </modules>\n")
+                    .append("  <build>\n")
+                    .append("    <pluginManagement>\n")
+                    .append("      <plugins>\n")
+                    .append("        <plugin>\n")
+                    .append("          <artifactId>maven-compiler-plugin</artifactId>\n")
+                    .append("          <version>3.13.0</version>\n")
+                    .append("          <configuration>\n")
+                    .append("            <compilerArgs>\n")
+                    .append("              <arg>${compiler.args}</arg>\n")
+                    .append("            </compilerArgs>\n")
+                    .append("          </configuration>\n")
+                    .append("        </plugin>\n")
+                    .append("      </plugins>\n")
+                    .append("    </pluginManagement>\n")
+                    .append("  </build>\n")
+                    .append("</project>\n");
+            Files.writeString(directory.resolve("pom.xml"), parent);
+
+            List<Path> poms = new ArrayList<>(modules);
+            for (int i = 0; i < modules; i++) {
+                StringBuilder module = new StringBuilder();
+                module.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+                        .append("  <modelVersion>4.0.0</modelVersion>\n")
+                        .append("  <parent>\n")
+                        .append("    <groupId>org.apache.maven.benchmarks</groupId>\n")
+                        .append("    <artifactId>reactor</artifactId>\n")
+                        .append("    <version>1.0-SNAPSHOT</version>\n")
+                        .append("  </parent>\n")
+                        .append("  <artifactId>module-")
+                        .append(i)
+                        .append("</artifactId>\n")
+                        .append("  <name>Module ${project.artifactId} of ${project.parent.artifactId}</name>\n")
+                        .append("  <properties>\n")
+                        .append("    <module.index>")
+                        .append(i)
+                        .append("</module.index>\n")
+                        .append("  </properties>\n")
+                        .append("  <dependencies>\n");
+                Set<Integer> dependencies = new TreeSet<>();
+                for (int d = Math.min(i, 1 + random.nextInt(3)); d > 0; d--) {
+                    dependencies.add(random.nextInt(i));
+                }
+                for (int dependency : dependencies) {
+                    module.append("    <dependency>\n")
+                            .append("      <groupId>${project.groupId}</groupId>\n")
+                            .append("      <artifactId>module-")
+                            .append(dependency)
+                            .append("</artifactId>\n")
+                            .append("      <version>${project.version}</version>\n")
+                            .append("    </dependency>\n");
+                }
+                module.append("  </dependencies>\n").append("</project>\n");
+                Path pom = directory.resolve("module-" + i).resolve("pom.xml");
+                Files.createDirectories(pom.getParent());
+                Files.writeString(pom, module);
+                poms.add(pom);
+            }
+            return poms;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void delete(Path directory) throws IOException {
+        if (Files.exists(directory)) {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.api.di.Inject;
+import org.apache.maven.api.di.Named;
+import org.apache.maven.api.di.Singleton;
+import org.apache.maven.di.Injector;
+import org.apache.maven.di.Key;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups in the Maven dependency injection container.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InjectorBenchmark {
+
+    private Injector injector;
+
+    private final Key<List<Service>> services = new Key<>() {};
+
+    @Setup
+    public void setup() {
+        injector = Injector.create().bindImplicit(InjectorBenchmark.class);
+    }
+
+    @Benchmark
+    public Object singleton() {
+        return injector.getInstance(Repository.class);
+    }
+
+    @Benchmark
+    public Object prototype() {
+        return injector.getInstance(Builder.class);
+    }
+
+    @Benchmark
+    public Object named() {
+        return injector.getInstance(Key.of(Service.class, "second"));
+    }
+
+    @Benchmark
+    public Object list() {
+        return injector.getInstance(services);
+    }
+
+    @Benchmark
+    public Object create() {
+        return Injector.create().bindImplicit(InjectorBenchmark.class).getInstance(Builder.class);
+    }
+
+    interface Service {}
+
+    @Named
+    @Singleton
+    static class Repository {}
+
+    @Named("first")
+    static class FirstService implements Service {
+        @Inject
+        FirstService(Repository repository) {}
+    }
+
+    @Named("second")
+    static class SecondService implements Service {
+        @Inject
+        SecondService(Repository repository) {}
+    }
+
+    @Named
+    static class Builder {
+        @Inject
+        Builder(Repository repository, List<Service> services) {}
+    }
+}
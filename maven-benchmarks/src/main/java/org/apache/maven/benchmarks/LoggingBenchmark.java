@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.io.Flushable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Mojo executions which log heavily from several build threads, with the messages written synchronously by each
+ * thread or handed over to the asynchronous writer of the Maven SLF4J provider. The log goes to an unbuffered file,
+ * as with {@code mvn -l}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    /**
+     * The number of messages logged by each mojo execution.
+     */
+    private static final int MESSAGES = 100;
+
+    @Param({"false", "true"})
+    private boolean async;
+
+    private Path file;
+
+    private Logger logger;
+
+    @Setup
+    public void setup() throws Exception {
+        file = Files.createTempFile("build", ".log");
+        // the provider reads its configuration once, each value of the parameter runs in its own fork
+        System.setProperty("org.slf4j.simpleLogger.logFile", file.toString());
+        System.setProperty("org.slf4j.simpleLogger.async", Boolean.toString(async));
+        logger = LoggerFactory.getLogger("org.apache.maven.plugins.HeavyLoggingMojo");
+    }
+
+    @TearDown(Level.Iteration)
+    public void flush() throws Exception {
+        if (LoggerFactory.getILoggerFactory() instanceof Flushable flushable) {
+            flushable.flush();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void mojo() {
+        for (int i = 0; i < MESSAGES; i++) {
+            logger.info("Compiling {} source file(s) with javac [debug release {}]", i, 17);
+        }
+    }
+}
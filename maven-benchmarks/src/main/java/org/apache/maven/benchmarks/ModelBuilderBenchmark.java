@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.api.Session;
+import org.apache.maven.api.services.ModelBuilder;
+import org.apache.maven.api.services.ModelBuilderRequest;
+import org.apache.maven.api.services.ModelSource;
+import org.apache.maven.internal.impl.resolver.DefaultModelCache;
+import org.apache.maven.internal.impl.standalone.ApiRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Effective model building of every module of a synthetic reactor with {@code DefaultModelBuilder}, sharing a model
+ * cache as the project builder does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelBuilderBenchmark {
+
+    private static final int MODULES = 500;
+
+    private Session session;
+
+    private ModelBuilder modelBuilder;
+
+    private List<Path> poms;
+
+    @Setup
+    public void setup() {
+        poms = Fixtures.reactor(Paths.get("target/fixtures/model-builder").toAbsolutePath(), MODULES);
+        session = ApiRunner.createSession();
+        modelBuilder = session.getService(ModelBuilder.class);
+    }
+
+    @Benchmark
+    public int build() {
+        DefaultModelCache cache = new DefaultModelCache();
+        int dependencies = 0;
+        for (Path pom : poms) {
+            dependencies += modelBuilder
+                    .build(ModelBuilderRequest.builder()
+                            .session(session)
+                            .source(ModelSource.fromPath(pom))
+                            .projectBuild(true)
+                            .modelCache(cache)
+                            .build())
+                    .getEffectiveModel()
+                    .getDependencies()
+                    .size();
+        }
+        return dependencies;
+    }
+}
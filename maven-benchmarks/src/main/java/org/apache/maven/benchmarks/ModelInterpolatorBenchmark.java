@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.api.Session;
+import org.apache.maven.api.model.InputLocation;
+import org.apache.maven.api.model.InputSource;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.BuilderProblem;
+import org.apache.maven.api.services.ModelBuilderRequest;
+import org.apache.maven.api.services.ModelProblem;
+import org.apache.maven.api.services.ModelProblemCollector;
+import org.apache.maven.api.services.ModelSource;
+import org.apache.maven.internal.impl.DefaultUrlNormalizer;
+import org.apache.maven.internal.impl.model.DefaultModelInterpolator;
+import org.apache.maven.internal.impl.model.DefaultPathTranslator;
+import org.apache.maven.internal.impl.model.DefaultRootLocator;
+import org.apache.maven.internal.impl.standalone.ApiRunner;
+import org.apache.maven.model.v4.MavenStaxReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Interpolation of a module model with {@link DefaultModelInterpolator}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelInterpolatorBenchmark {
+
+    private DefaultModelInterpolator interpolator;
+
+    private ModelBuilderRequest request;
+
+    private Model model;
+
+    private Path projectDir;
+
+    @Setup
+    public void setup() throws Exception {
+        List<Path> poms =
+                Fixtures.reactor(Paths.get("target/fixtures/model-interpolator").toAbsolutePath(), 10);
+        Path pom = poms.get(poms.size() - 1);
+        try (InputStream is = Files.newInputStream(pom)) {
+            model = new MavenStaxReader().read(is, true, new InputSource("benchmark", pom.toString()));
+        }
+        projectDir = pom.getParent();
+        Session session = ApiRunner.createSession();
+        request = ModelBuilderRequest.builder()
+                .session(session)
+                .source(ModelSource.fromPath(pom))
+                .systemProperties(session.getSystemProperties())
+                .userProperties(Map.of("compiler.args", "-Werror"))
+                .build();
+        interpolator = new DefaultModelInterpolator(
+                new DefaultPathTranslator(), new DefaultUrlNormalizer(), new DefaultRootLocator());
+    }
+
+    @Benchmark
+    public Model interpolate() {
+        return interpolator.interpolateModel(model, projectDir, request, new ProblemCollector());
+    }
+
+    static class ProblemCollector implements ModelProblemCollector {
+        private final List<ModelProblem> problems = new ArrayList<>();
+
+        @Override
+        public List<ModelProblem> getProblems() {
+            return problems;
+        }
+
+        @Override
+        public boolean hasErrors() {
+            return false;
+        }
+
+        @Override
+        public boolean hasFatalErrors() {
+            return false;
+        }
+
+        @Override
+        public void add(
+                BuilderProblem.Severity severity,
+                ModelProblem.Version version,
+                String message,
+                InputLocation location,
+                Exception exception) {
+            throw new IllegalStateException(message, exception);
+        }
+
+        @Override
+        public void add(ModelProblem problem) {
+            problems.add(problem);
+        }
+    }
+}
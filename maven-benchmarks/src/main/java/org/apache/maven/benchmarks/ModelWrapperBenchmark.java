@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.api.model.InputSource;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.v4.MavenStaxReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Repeated reads of the Maven 3 {@link Model} wrappers of a reactor, as done by plugins looking up their
+ * configuration or the project dependencies. Run with {@code -prof gc} to see the allocations per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelWrapperBenchmark {
+
+    private static final int MODULES = 500;
+
+    private static final int PLUGINS = 10;
+
+    private String[] pluginKeys;
+
+    private List<Model> models;
+
+    @Setup
+    public void setup() throws Exception {
+        List<Path> poms =
+                Fixtures.reactor(Paths.get("target/fixtures/model-wrapper").toAbsolutePath(), MODULES);
+        pluginKeys = new String[PLUGINS];
+        for (int i = 0; i < PLUGINS; i++) {
+            pluginKeys[i] = "plugin-" + i;
+        }
+        models = new ArrayList<>(poms.size());
+        for (Path pom : poms) {
+            try (InputStream is = Files.newInputStream(pom)) {
+                Model model =
+                        new Model(new MavenStaxReader().read(is, true, new InputSource("benchmark", pom.toString())));
+                model.setBuild(new Build());
+                for (String pluginKey : pluginKeys) {
+                    Plugin plugin = new Plugin();
+                    plugin.setArtifactId(pluginKey);
+                    plugin.setVersion("1.0");
+                    model.getBuild().addPlugin(plugin);
+                }
+                models.add(model);
+            }
+        }
+    }
+
+    @Benchmark
+    public int scan() {
+        int result = 0;
+        for (Model model : models) {
+            for (Dependency dependency : model.getDependencies()) {
+                result += dependency.getArtifactId().length();
+            }
+            for (String pluginKey : pluginKeys) {
+                // a lookup by key for each plugin, like MavenProject.getPlugin(String)
+                for (Plugin plugin : model.getBuild().getPlugins()) {
+                    if (plugin.getArtifactId().equals(pluginKey)) {
+                        result += plugin.getVersion().length();
+                        break;
+                    }
+                }
+            }
+            result += model.getParent().getArtifactId().length();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.cli.MavenCli;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End to end build of a synthetic reactor up to the {@code validate} phase, which is dominated by
+ * {@code DefaultProjectBuilder}. The build runs offline against an empty local repository.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectBuilderBenchmark {
+
+    private static final int MODULES = 500;
+
+    private Path directory;
+
+    @Setup
+    public void setup() {
+        directory = Paths.get("target/fixtures/project-builder").toAbsolutePath();
+        Fixtures.reactor(directory, MODULES);
+        System.setProperty(MavenCli.MULTIMODULE_PROJECT_DIRECTORY, directory.toString());
+    }
+
+    @Benchmark
+    public int validate() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream stream = new PrintStream(out);
+        int result = new MavenCli()
+                .doMain(
+                        new String[] {
+                            "-B", "-q", "-o", "-Dmaven.repo.local=" + directory.resolve("target/repository"), "validate"
+                        },
+                        directory.toString(),
+                        stream,
+                        stream);
+        if (result != 0) {
+            throw new IllegalStateException("Build failed:\n" + out);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.api.model.InputSource;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.model.v4.MavenStaxReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading of the small POMs typically downloaded when resolving dependencies, where the setup of each read weighs as
+ * much as the parsing itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StaxReaderBenchmark {
+
+    private static final int POMS = 100;
+
+    private byte[][] poms;
+
+    @Setup
+    public void setup() {
+        poms = new byte[POMS][];
+        for (int i = 0; i < POMS; i++) {
+            StringBuilder pom = new StringBuilder()
+                    .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                    .append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+                    .append("  <modelVersion>4.0.0</modelVersion>\n")
+                    .append("  <groupId>org.example.group")
+                    .append(i % 10)
+                    .append("</groupId>\n")
+                    .append("  <artifactId>artifact")
+                    .append(i)
+                    .append("</artifactId>\n")
+                    .append("  <version>1.")
+                    .append(i)
+                    .append("</version>\n")
+                    .append("  <dependencies>\n");
+            for (int j = 0; j < 3; j++) {
+                pom.append("    <dependency>\n")
+                        .append("      <groupId>org.example.group")
+                        .append(j)
+                        .append("</groupId>\n")
+                        .append("      <artifactId>dependency")
+                        .append(j)
+                        .append("</artifactId>\n")
+                        .append("      <version>2.")
+                        .append(j)
+                        .append("</version>\n")
+                        .append("    </dependency>\n");
+            }
+            pom.append("  </dependencies>\n").append("</project>\n");
+            poms[i] = pom.toString().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+
+    @Benchmark
+    public int readPoms() throws Exception {
+        return read(new MavenStaxReader());
+    }
+
+    @Benchmark
+    public int readPomsPooled() throws Exception {
+        MavenStaxReader reader = new MavenStaxReader();
+        reader.setStringPool(s -> strings.computeIfAbsent(s, k -> k));
+        return read(reader);
+    }
+
+    private int read(MavenStaxReader reader) throws Exception {
+        int hash = 0;
+        for (int i = 0; i < POMS; i++) {
+            Model model = reader.read(new ByteArrayInputStream(poms[i]), true, new InputSource("pom" + i, null));
+            hash += model.getDependencies().size();
+        }
+        return hash;
+    }
+}
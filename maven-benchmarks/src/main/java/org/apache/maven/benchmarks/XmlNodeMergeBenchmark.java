@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.api.xml.XmlNode;
+import org.apache.maven.internal.xml.XmlNodeImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Merging of plugin configurations with {@link XmlNodeImpl#merge(XmlNode, XmlNode)}, as done for every plugin
+ * execution of every project.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XmlNodeMergeBenchmark {
+
+    private XmlNode dominant;
+
+    private XmlNode recessive;
+
+    @Setup
+    public void setup() {
+        dominant = configuration("child", 20);
+        recessive = configuration("parent", 40);
+    }
+
+    @Benchmark
+    public XmlNode merge() {
+        return XmlNodeImpl.merge(dominant, recessive);
+    }
+
+    @Benchmark
+    public XmlNode mergeAppend() {
+        return XmlNodeImpl.merge(dominant, recessive, Boolean.FALSE);
+    }
+
+    private static XmlNode configuration(String prefix, int size) {
+        List<XmlNode> children = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            children.add(new XmlNodeImpl("param" + i, prefix + "-value-" + i));
+        }
+        List<XmlNode> args = new ArrayList<>();
+        for (int i = 0; i < size / 4; i++) {
+            args.add(new XmlNodeImpl("arg", "-A" + prefix + i));
+        }
+        children.add(new XmlNodeImpl("compilerArgs", null, Map.of("combine.children", "append"), args, null));
+        List<XmlNode> excludes = new ArrayList<>();
+        for (int i = 0; i < size / 4; i++) {
+            excludes.add(new XmlNodeImpl("exclude", "**/" + prefix + i + "/**"));
+        }
+        children.add(new XmlNodeImpl("excludes", null, null, excludes, null));
+        return new XmlNodeImpl("configuration", null, null, children, null);
+    }
+}
@@ -39,6 +39,7 @@
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import org.apache.maven.api.Constants;
 import org.apache.maven.api.Session;
 import org.apache.maven.api.model.Model;
 import org.apache.maven.api.model.Prerequisites;
@@ -46,6 +47,8 @@
 import org.apache.maven.api.services.Lookup;
 import org.apache.maven.api.services.LookupException;
 import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.execution.BuildDurations;
+import org.apache.maven.execution.BuildDurationsRepository;
 import org.apache.maven.execution.BuildResumptionAnalyzer;
 import org.apache.maven.execution.BuildResumptionDataRepository;
 import org.apache.maven.execution.BuildResumptionPersistenceException;
@@ -75,6 +78,7 @@
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.RepositorySystemSession.CloseableSession;
 import org.eclipse.aether.repository.WorkspaceReader;
+import org.eclipse.aether.util.ConfigUtils;
 import org.eclipse.sisu.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -105,6 +109,8 @@ public class DefaultMaven implements Maven {
 
     private final BuildResumptionDataRepository buildResumptionDataRepository;
 
+    private final BuildDurationsRepository buildDurationsRepository;
+
     private final SuperPomProvider superPomProvider;
 
     private final DefaultSessionFactory defaultSessionFactory;
@@ -124,6 +130,7 @@ public DefaultMaven(
             @Named(GraphBuilder.HINT) GraphBuilder graphBuilder,
             BuildResumptionAnalyzer buildResumptionAnalyzer,
             BuildResumptionDataRepository buildResumptionDataRepository,
+            BuildDurationsRepository buildDurationsRepository,
             SuperPomProvider superPomProvider,
             DefaultSessionFactory defaultSessionFactory,
             @Nullable @Named("ide") WorkspaceReader ideWorkspaceReader) {
@@ -135,6 +142,7 @@ public DefaultMaven(
         this.graphBuilder = graphBuilder;
         this.buildResumptionAnalyzer = buildResumptionAnalyzer;
         this.buildResumptionDataRepository = buildResumptionDataRepository;
+        this.buildDurationsRepository = buildDurationsRepository;
         this.superPomProvider = superPomProvider;
         this.ideWorkspaceReader = ideWorkspaceReader;
         this.defaultSessionFactory = defaultSessionFactory;
@@ -308,8 +316,14 @@ private MavenExecutionResult doExecute(
             LifecycleStarter lifecycleStarter = lookup.lookupOptional(LifecycleStarter.class, request.getBuilderId())
                     .orElseGet(() -> lookup.lookup(LifecycleStarter.class));
 
+            BuildDurations buildDurations = loadBuildDurations(session);
+
             lifecycleStarter.execute(session);
 
+            if (buildDurations != null) {
+                buildDurationsRepository.persist(getExecutionRoot(session), buildDurations);
+            }
+
             validateOptionalProjects(request, session);
             validateOptionalProfiles(session, request.getProfileActivation());
 
@@ -381,15 +395,28 @@ private void callListeners(MavenSession session, ListenerMethod method) throws M
         }
     }
 
+    private BuildDurations loadBuildDurations(MavenSession session) {
+        if (!ConfigUtils.getBoolean(session.getRepositorySession(), false, Constants.MAVEN_BUILDER_HISTORY)) {
+            return null;
+        }
+        BuildDurations buildDurations = buildDurationsRepository.load(getExecutionRoot(session));
+        session.getSession().getData().set(BuildDurations.KEY, buildDurations);
+        return buildDurations;
+    }
+
+    private MavenProject getExecutionRoot(MavenSession session) {
+        return session.getAllProjects().stream()
+                .filter(MavenProject::isExecutionRoot)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No project in the session is execution root"));
+    }
+
     private void persistResumptionData(MavenExecutionResult result, MavenSession session) {
         boolean hasLifecycleExecutionExceptions =
                 result.getExceptions().stream().anyMatch(LifecycleExecutionException.class::isInstance);
 
         if (hasLifecycleExecutionExceptions) {
-            MavenProject rootProject = session.getAllProjects().stream()
-                    .filter(MavenProject::isExecutionRoot)
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalStateException("No project in the session is execution root"));
+            MavenProject rootProject = getExecutionRoot(session);
 
             buildResumptionAnalyzer.determineBuildResumptionData(result).ifPresent(resumption -> {
                 try {
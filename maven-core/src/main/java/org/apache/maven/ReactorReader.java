@@ -24,6 +24,7 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.DirectoryNotEmptyException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -37,12 +38,15 @@
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.maven.api.Constants;
 import org.apache.maven.api.model.Model;
 import org.apache.maven.api.services.Lookup;
 import org.apache.maven.eventspy.EventSpy;
@@ -53,6 +57,7 @@
 import org.apache.maven.project.artifact.ProjectArtifact;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.repository.WorkspaceRepository;
+import org.eclipse.aether.util.ConfigUtils;
 import org.eclipse.aether.util.artifact.ArtifactIdUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -80,8 +85,13 @@ class ReactorReader implements MavenWorkspaceReader {
     private Map<String, Map<String, Map<String, MavenProject>>> projects;
     private Map<String, Map<String, Map<String, MavenProject>>> allProjects;
     private Path projectLocalRepository;
+    private InstallMode installMode;
     // projectId -> Deque<lifecycle>
     private final Map<String, Deque<String>> lifecycles = new ConcurrentHashMap<>();
+    // projectId -> newest file of the output directory
+    private final Map<String, OutputSnapshot> outputSnapshots = new ConcurrentHashMap<>();
+    // projectIds for which an outdated packaged artifact has been reported
+    private final Set<String> outdatedProjects = ConcurrentHashMap.newKeySet();
 
     @Inject
     ReactorReader(MavenSession session) {
@@ -213,12 +223,7 @@ private File determineBuildOutputDirectoryForArtifact(final MavenProject project
     }
 
     private boolean isPackagedArtifactUpToDate(MavenProject project, File packagedArtifactFile) {
-        Path outputDirectory = Paths.get(project.getBuild().getOutputDirectory());
-        if (!outputDirectory.toFile().exists()) {
-            return true;
-        }
-
-        try (Stream<Path> outputFiles = Files.walk(outputDirectory)) {
+        try {
             // Not using File#lastModified() to avoid a Linux JDK8 milliseconds precision bug: JDK-8177809.
             long artifactLastModified =
                     Files.getLastModifiedTime(packagedArtifactFile.toPath()).toMillis();
@@ -231,25 +236,19 @@ private boolean isPackagedArtifactUpToDate(MavenProject project, File packagedAr
                 }
             }
 
-            for (Path outputFile : (Iterable<Path>) outputFiles::iterator) {
-                if (Files.isDirectory(outputFile)) {
-                    continue;
-                }
-
-                long outputFileLastModified =
-                        Files.getLastModifiedTime(outputFile).toMillis();
-                if (outputFileLastModified > artifactLastModified) {
-                    LOGGER.warn(
-                            "File '{}' is more recent than the packaged artifact for '{}', "
-                                    + "please run a full `mvn package` build",
-                            relativizeOutputFile(outputFile),
-                            project.getArtifactId());
-                    return true;
-                }
+            OutputSnapshot snapshot = getOutputSnapshot(project);
+            if (snapshot.newestFile() != null
+                    && snapshot.newestLastModified() > artifactLastModified
+                    && outdatedProjects.add(project.getId())) {
+                LOGGER.warn(
+                        "File '{}' is more recent than the packaged artifact for '{}', "
+                                + "please run a full `mvn package` build",
+                        relativizeOutputFile(snapshot.newestFile()),
+                        project.getArtifactId());
             }
 
             return true;
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             LOGGER.warn(
                     "An I/O error occurred while checking if the packaged artifact is up-to-date "
                             + "against the build output directory. "
@@ -259,6 +258,39 @@ private boolean isPackagedArtifactUpToDate(MavenProject project, File packagedAr
         }
     }
 
+    /**
+     * Returns the newest file of the project output directory. The result of the walk is reused until a mojo of the
+     * project starts or ends, as the mojo may change the content of the directory.
+     * <p>
+     * Visible for testing.
+     */
+    OutputSnapshot getOutputSnapshot(MavenProject project) {
+        return outputSnapshots.computeIfAbsent(project.getId(), k -> {
+            Path outputDirectory = Paths.get(project.getBuild().getOutputDirectory());
+            if (!Files.isDirectory(outputDirectory)) {
+                return OutputSnapshot.EMPTY;
+            }
+            Path newestFile = null;
+            long newestLastModified = Long.MIN_VALUE;
+            try (Stream<Path> outputFiles = Files.walk(outputDirectory)) {
+                for (Path outputFile : (Iterable<Path>) outputFiles::iterator) {
+                    if (Files.isDirectory(outputFile)) {
+                        continue;
+                    }
+                    long outputFileLastModified =
+                            Files.getLastModifiedTime(outputFile).toMillis();
+                    if (outputFileLastModified > newestLastModified) {
+                        newestFile = outputFile;
+                        newestLastModified = outputFileLastModified;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new OutputSnapshot(newestFile, newestLastModified);
+        });
+    }
+
     private boolean hasBeenPackagedDuringThisSession(MavenProject project) {
         boolean packaged = false;
         for (String phase : getLifecycles(project)) {
@@ -320,7 +352,9 @@ private File findInProjectLocalRepository(Artifact artifact) {
      * We are interested in project success events, in which case we call
      * the {@link #installIntoProjectLocalRepository(MavenProject)} method.
      * The mojo started event is also captured to determine the lifecycle
-     * phases the project has been through.
+     * phases the project has been through. Mojo events discard the snapshot
+     * of the project output directory, which the mojo may change, including
+     * when the snapshot was taken while the mojo was running.
      *
      * @param event the execution event
      */
@@ -328,6 +362,7 @@ private void processEvent(ExecutionEvent event) {
         MavenProject project = event.getProject();
         switch (event.getType()) {
             case MojoStarted:
+                outputSnapshots.remove(project.getId());
                 String phase = event.getMojoExecution().getLifecyclePhase();
                 if (phase != null) {
                     Deque<String> phases = getLifecycles(project);
@@ -339,8 +374,13 @@ private void processEvent(ExecutionEvent event) {
                     }
                 }
                 break;
+            case MojoSucceeded:
+            case MojoFailed:
+                outputSnapshots.remove(project.getId());
+                break;
             case ProjectSucceeded:
             case ForkedProjectSucceeded:
+                outputSnapshots.remove(project.getId());
                 installIntoProjectLocalRepository(project);
                 break;
             default:
@@ -353,8 +393,9 @@ private Deque<String> getLifecycles(MavenProject project) {
     }
 
     /**
-     * Copy packaged and attached artifacts from this project to the
-     * project local repository.
+     * Copy or link packaged and attached artifacts from this project to the
+     * project local repository. Artifacts whose content is already in the
+     * project local repository are skipped.
      * This allows a subsequent build to resume while still being able
      * to locate attached artifacts.
      *
@@ -413,20 +454,71 @@ private boolean isRegularFile(Artifact artifact) {
     }
 
     private void installIntoProjectLocalRepository(Artifact artifact) {
+        Path source = artifact.getPath();
         Path target = getArtifactPath(artifact);
         try {
-            LOGGER.info("Copying {} to project local repository", artifact);
+            if (isInstalled(source, target)) {
+                LOGGER.debug("{} is unchanged in project local repository", artifact);
+                return;
+            }
             Files.createDirectories(target.getParent());
-            Files.copy(
-                    artifact.getPath(),
-                    target,
-                    StandardCopyOption.REPLACE_EXISTING,
-                    StandardCopyOption.COPY_ATTRIBUTES);
+            InstallMode installMode = getInstallMode();
+            if (installMode != InstallMode.COPY) {
+                try {
+                    LOGGER.info("Linking {} into project local repository", artifact);
+                    Files.deleteIfExists(target);
+                    if (installMode == InstallMode.HARDLINK) {
+                        Files.createLink(target, source);
+                    } else {
+                        Files.createSymbolicLink(target, source.toAbsolutePath());
+                    }
+                    return;
+                } catch (IOException | UnsupportedOperationException e) {
+                    LOGGER.debug("Unable to link {}, falling back to copy", artifact, e);
+                }
+            }
+            LOGGER.info("Copying {} to project local repository", artifact);
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
         } catch (IOException e) {
             LOGGER.error("Error while copying artifact to project local repository", e);
         }
     }
 
+    /**
+     * Checks whether the target already holds the content of the source: either because it is a link to the same
+     * file, or because it is a copy with the same size and modification time.
+     */
+    private static boolean isInstalled(Path source, Path target) throws IOException {
+        if (!Files.isRegularFile(target)) {
+            return false;
+        }
+        if (Files.isSameFile(source, target)) {
+            return true;
+        }
+        return Files.size(source) == Files.size(target)
+                && Files.getLastModifiedTime(source).equals(Files.getLastModifiedTime(target));
+    }
+
+    private InstallMode getInstallMode() {
+        if (installMode == null) {
+            String mode = session.getRepositorySession() != null
+                    ? ConfigUtils.getString(
+                            session.getRepositorySession(), "copy", Constants.MAVEN_PROJECT_LOCAL_REPO_INSTALL_MODE)
+                    : "copy";
+            try {
+                installMode = InstallMode.valueOf(mode.toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn(
+                        "Invalid value specified for property {}: '{}'. Supported values are {}",
+                        Constants.MAVEN_PROJECT_LOCAL_REPO_INSTALL_MODE,
+                        mode,
+                        Arrays.toString(InstallMode.values()).toLowerCase(Locale.ENGLISH));
+                installMode = InstallMode.COPY;
+            }
+        }
+        return installMode;
+    }
+
     private Path getArtifactPath(Artifact artifact) {
         String groupId = artifact.getGroupId();
         String artifactId = artifact.getArtifactId();
@@ -504,6 +596,23 @@ private Map<String, Map<String, Map<String, MavenProject>>> getProjects() {
         return projects;
     }
 
+    /**
+     * How artifacts are put into the project local repository. Links fall back to copies when the file system does
+     * not support them.
+     */
+    private enum InstallMode {
+        COPY,
+        HARDLINK,
+        SYMLINK
+    }
+
+    /**
+     * The newest file of a project output directory, {@code null} if the directory has no file.
+     */
+    record OutputSnapshot(Path newestFile, long newestLastModified) {
+        static final OutputSnapshot EMPTY = new OutputSnapshot(null, Long.MIN_VALUE);
+    }
+
     /**
      * Singleton class used to receive events by implementing the EventSpy.
      * It simply forwards all {@code ExecutionEvent}s to the {@code ReactorReader}.
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.execution;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.api.SessionData;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Wall times of project builds and mojo executions, as recorded by earlier builds and updated by the current one.
+ * Durations are smoothed: a new measurement is averaged with the previously recorded one, so a single unusually
+ * slow or fast build does not dominate the history.
+ * <p>
+ * The durations of the current session are available through {@link #get(MavenSession)} when the
+ * {@value org.apache.maven.api.Constants#MAVEN_BUILDER_HISTORY} property is enabled.
+ *
+ * @see BuildDurationsRepository
+ * @since 4.0.0
+ */
+public class BuildDurations {
+
+    public static final SessionData.Key<BuildDurations> KEY = SessionData.key(BuildDurations.class);
+
+    private final Map<String, Long> projectDurations = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> mojoDurations = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the durations recorded for the given session.
+     *
+     * @param session the session
+     * @return the durations, or {@code null} if build duration history is not enabled for the session
+     */
+    public static BuildDurations get(MavenSession session) {
+        return session.getSession() != null ? session.getSession().getData().get(KEY) : null;
+    }
+
+    /**
+     * @param project the project
+     * @return the recorded build duration of the project in milliseconds, or {@code -1} if unknown
+     */
+    public long getProjectDuration(MavenProject project) {
+        return projectDurations.getOrDefault(projectKey(project), -1L);
+    }
+
+    /**
+     * @param project the project
+     * @param mojoExecution the mojo execution
+     * @return the recorded duration of the mojo execution in milliseconds, or {@code -1} if unknown
+     */
+    public long getMojoDuration(MavenProject project, MojoExecution mojoExecution) {
+        return mojoDurations.getOrDefault(mojoKey(project, mojoExecution), -1L);
+    }
+
+    public void recordProjectDuration(MavenProject project, long millis) {
+        projectDurations.merge(projectKey(project), millis, BuildDurations::smooth);
+    }
+
+    public void recordMojoDuration(MavenProject project, MojoExecution mojoExecution, long millis) {
+        mojoDurations.merge(mojoKey(project, mojoExecution), millis, BuildDurations::smooth);
+    }
+
+    Map<String, Long> getProjectDurations() {
+        return Collections.unmodifiableMap(projectDurations);
+    }
+
+    Map<String, Long> getMojoDurations() {
+        return Collections.unmodifiableMap(mojoDurations);
+    }
+
+    void putProjectDuration(String key, long millis) {
+        projectDurations.put(key, millis);
+    }
+
+    void putMojoDuration(String key, long millis) {
+        mojoDurations.put(key, millis);
+    }
+
+    private static long smooth(long previous, long current) {
+        return (previous + current) / 2;
+    }
+
+    private static String projectKey(MavenProject project) {
+        return project.getGroupId() + ':' + project.getArtifactId();
+    }
+
+    private static String mojoKey(MavenProject project, MojoExecution mojoExecution) {
+        return projectKey(project)
+                + '/'
+                + mojoExecution.getArtifactId()
+                + ':'
+                + mojoExecution.getGoal()
+                + '@'
+                + mojoExecution.getExecutionId();
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.execution;
+
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Stores the {@link BuildDurations} of a reactor between Maven invocations.
+ *
+ * @since 4.0.0
+ */
+public interface BuildDurationsRepository {
+    /**
+     * Loads the durations recorded by earlier builds of the given reactor.
+     *
+     * @param rootProject The root project that is being built.
+     * @return The recorded durations, empty if nothing was recorded yet or if the history could not be read.
+     */
+    BuildDurations load(MavenProject rootProject);
+
+    /**
+     * Persists the durations so later builds of the reactor can use them. Failures are logged and never fail the
+     * build.
+     *
+     * @param rootProject The root project that is being built.
+     * @param buildDurations The durations to persist.
+     */
+    void persist(MavenProject rootProject, BuildDurations buildDurations);
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.execution;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.maven.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This implementation of {@link BuildDurationsRepository} persists durations in a properties file. The file is stored
+ * in the build output directory under the Maven execution root, next to the build resumption data.
+ */
+@Named
+@Singleton
+public class DefaultBuildDurationsRepository implements BuildDurationsRepository {
+    private static final String BUILD_DURATIONS_FILENAME = "build-durations.properties";
+    private static final String PROJECT_PREFIX = "project.";
+    private static final String MOJO_PREFIX = "mojo.";
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultBuildDurationsRepository.class);
+
+    @Override
+    public BuildDurations load(MavenProject rootProject) {
+        BuildDurations buildDurations = new BuildDurations();
+        Path path = Paths.get(rootProject.getBuild().getDirectory(), BUILD_DURATIONS_FILENAME);
+        if (!Files.exists(path)) {
+            return buildDurations;
+        }
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read {}, build durations of earlier builds will be ignored.", path);
+            return buildDurations;
+        }
+        applyProperties(buildDurations, properties);
+        return buildDurations;
+    }
+
+    @Override
+    public void persist(MavenProject rootProject, BuildDurations buildDurations) {
+        Properties properties = convertToProperties(buildDurations);
+
+        Path path = Paths.get(rootProject.getBuild().getDirectory(), BUILD_DURATIONS_FILENAME);
+        try {
+            Files.createDirectories(path.getParent());
+            try (Writer writer = Files.newBufferedWriter(path)) {
+                properties.store(writer, null);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not write {} file.", BUILD_DURATIONS_FILENAME, e);
+        }
+    }
+
+    // This method is made package-private for testing purposes
+    Properties convertToProperties(BuildDurations buildDurations) {
+        Properties properties = new Properties();
+        for (Map.Entry<String, Long> entry :
+                buildDurations.getProjectDurations().entrySet()) {
+            properties.setProperty(PROJECT_PREFIX + entry.getKey(), String.valueOf(entry.getValue()));
+        }
+        for (Map.Entry<String, Long> entry : buildDurations.getMojoDurations().entrySet()) {
+            properties.setProperty(MOJO_PREFIX + entry.getKey(), String.valueOf(entry.getValue()));
+        }
+        return properties;
+    }
+
+    // This method is made package-private for testing purposes
+    void applyProperties(BuildDurations buildDurations, Properties properties) {
+        for (String name : properties.stringPropertyNames()) {
+            long millis;
+            try {
+                millis = Long.parseLong(properties.getProperty(name));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (name.startsWith(PROJECT_PREFIX)) {
+                buildDurations.putProjectDuration(name.substring(PROJECT_PREFIX.length()), millis);
+            } else if (name.startsWith(MOJO_PREFIX)) {
+                buildDurations.putMojoDuration(name.substring(MOJO_PREFIX.length()), millis);
+            }
+        }
+    }
+}
@@ -19,16 +19,13 @@
 package org.apache.maven.graph;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.apache.maven.execution.ProjectDependencyGraph;
 import org.apache.maven.project.CycleDetectedException;
@@ -38,6 +35,9 @@
 
 /**
  * Describes the interdependencies between projects in the reactor.
+ * <p>
+ * The direct and transitive upstream and downstream projects of each project are indexed once as bit sets over the
+ * positions of the projects in the build order, so that queries only need to iterate over the bits of a set.
  *
  */
 public class DefaultProjectDependencyGraph implements ProjectDependencyGraph {
@@ -46,9 +46,20 @@ public class DefaultProjectDependencyGraph implements ProjectDependencyGraph {
 
     private final List<MavenProject> allProjects;
 
-    private final Map<MavenProject, Integer> order;
+    private final List<MavenProject> sortedProjects;
 
-    private final Map<String, MavenProject> projects;
+    /**
+     * The position of each project in the build order, by project id.
+     */
+    private final Map<String, Integer> order;
+
+    private final BitSet[] dependencies;
+
+    private final BitSet[] dependents;
+
+    private final BitSet[] upstream;
+
+    private final BitSet[] downstream;
 
     /**
      * Creates a new project dependency graph based on the specified projects.
@@ -91,15 +102,45 @@ public DefaultProjectDependencyGraph(Collection<MavenProject> allProjects, Colle
             throws CycleDetectedException, DuplicateProjectException {
         this.allProjects = Collections.unmodifiableList(new ArrayList<>(allProjects));
         this.sorter = new ProjectSorter(projects);
-        this.order = new HashMap<>();
-        this.projects = new HashMap<>();
-        List<MavenProject> sorted = this.sorter.getSortedProjects();
-        for (int index = 0; index < sorted.size(); index++) {
-            MavenProject project = sorted.get(index);
-            String id = ProjectSorter.getId(project);
-            this.projects.put(id, project);
-            this.order.put(project, index);
+        this.sortedProjects = this.sorter.getSortedProjects();
+        int size = sortedProjects.size();
+        this.order = new HashMap<>(size * 2);
+        for (int index = 0; index < size; index++) {
+            order.put(ProjectSorter.getId(sortedProjects.get(index)), index);
+        }
+        this.dependencies = new BitSet[size];
+        this.dependents = new BitSet[size];
+        for (int index = 0; index < size; index++) {
+            String id = ProjectSorter.getId(sortedProjects.get(index));
+            dependencies[index] = toBitSet(sorter.getDependencies(id));
+            dependents[index] = toBitSet(sorter.getDependents(id));
+        }
+        // dependencies always come before their dependents in the build order, so the closure of each project
+        // can be computed from the closures of its direct dependencies (resp. dependents) which are already known
+        this.upstream = new BitSet[size];
+        for (int index = 0; index < size; index++) {
+            upstream[index] = closure(dependencies[index], upstream);
+        }
+        this.downstream = new BitSet[size];
+        for (int index = size - 1; index >= 0; index--) {
+            downstream[index] = closure(dependents[index], downstream);
+        }
+    }
+
+    private BitSet toBitSet(List<String> ids) {
+        BitSet bits = new BitSet(sortedProjects.size());
+        for (String id : ids) {
+            bits.set(order.get(id));
+        }
+        return bits;
+    }
+
+    private static BitSet closure(BitSet direct, BitSet[] closures) {
+        BitSet closure = (BitSet) direct.clone();
+        for (int index = direct.nextSetBit(0); index >= 0; index = direct.nextSetBit(index + 1)) {
+            closure.or(closures[index]);
         }
+        return closure;
     }
 
     /**
@@ -110,50 +151,58 @@ public List<MavenProject> getAllProjects() {
     }
 
     public List<MavenProject> getSortedProjects() {
-        return new ArrayList<>(sorter.getSortedProjects());
+        return new ArrayList<>(sortedProjects);
     }
 
     public List<MavenProject> getDownstreamProjects(MavenProject project, boolean transitive) {
-        Objects.requireNonNull(project, "project cannot be null");
-
-        Set<String> projectIds = new HashSet<>();
+        return getDownstreamProjects(project, transitive, null);
+    }
 
-        getDownstreamProjects(ProjectSorter.getId(project), projectIds, transitive);
+    List<MavenProject> getDownstreamProjects(MavenProject project, boolean transitive, BitSet filter) {
+        Objects.requireNonNull(project, "project cannot be null");
 
-        return getSortedProjects(projectIds);
+        return select(transitive ? downstream : dependents, project, filter);
     }
 
-    private void getDownstreamProjects(String projectId, Set<String> projectIds, boolean transitive) {
-        for (String id : sorter.getDependents(projectId)) {
-            if (projectIds.add(id) && transitive) {
-                getDownstreamProjects(id, projectIds, transitive);
-            }
-        }
+    public List<MavenProject> getUpstreamProjects(MavenProject project, boolean transitive) {
+        return getUpstreamProjects(project, transitive, null);
     }
 
-    public List<MavenProject> getUpstreamProjects(MavenProject project, boolean transitive) {
+    List<MavenProject> getUpstreamProjects(MavenProject project, boolean transitive, BitSet filter) {
         Objects.requireNonNull(project, "project cannot be null");
 
-        Set<String> projectIds = new HashSet<>();
-
-        getUpstreamProjects(ProjectSorter.getId(project), projectIds, transitive);
-
-        return getSortedProjects(projectIds);
+        return select(transitive ? upstream : dependencies, project, filter);
     }
 
-    private void getUpstreamProjects(String projectId, Collection<String> projectIds, boolean transitive) {
-        for (String id : sorter.getDependencies(projectId)) {
-            if (projectIds.add(id) && transitive) {
-                getUpstreamProjects(id, projectIds, transitive);
+    /**
+     * Returns the positions in the build order of the given projects which are part of this graph.
+     */
+    BitSet getProjectSet(Collection<? extends MavenProject> projects) {
+        BitSet bits = new BitSet(sortedProjects.size());
+        for (MavenProject project : projects) {
+            Integer index = order.get(ProjectSorter.getId(project));
+            if (index != null && sortedProjects.get(index) == project) {
+                bits.set(index);
             }
         }
+        return bits;
     }
 
-    private List<MavenProject> getSortedProjects(Set<String> projectIds) {
-        return projectIds.stream()
-                .map(projects::get)
-                .sorted(Comparator.comparingInt(order::get))
-                .collect(Collectors.toList());
+    private List<MavenProject> select(BitSet[] index, MavenProject project, BitSet filter) {
+        Integer position = order.get(ProjectSorter.getId(project));
+        if (position == null) {
+            return new ArrayList<>();
+        }
+        BitSet selected = index[position];
+        if (filter != null) {
+            selected = (BitSet) selected.clone();
+            selected.and(filter);
+        }
+        List<MavenProject> result = new ArrayList<>(selected.cardinality());
+        for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+            result.add(sortedProjects.get(i));
+        }
+        return result;
     }
 
     @Override
@@ -19,6 +19,7 @@
 package org.apache.maven.graph;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.IdentityHashMap;
 import java.util.List;
@@ -38,6 +39,11 @@ class FilteredProjectDependencyGraph implements ProjectDependencyGraph {
 
     private Map<MavenProject, ?> whiteList;
 
+    /**
+     * The white list as a bit set, when the filtered graph is a {@link DefaultProjectDependencyGraph}.
+     */
+    private BitSet whiteListSet;
+
     private List<MavenProject> sortedProjects;
 
     /**
@@ -56,6 +62,10 @@ class FilteredProjectDependencyGraph implements ProjectDependencyGraph {
         for (MavenProject project : whiteList) {
             this.whiteList.put(project, null);
         }
+
+        if (projectDependencyGraph instanceof DefaultProjectDependencyGraph defaultProjectDependencyGraph) {
+            this.whiteListSet = defaultProjectDependencyGraph.getProjectSet(whiteList);
+        }
     }
 
     /**
@@ -74,10 +84,18 @@ public List<MavenProject> getSortedProjects() {
     }
 
     public List<MavenProject> getDownstreamProjects(MavenProject project, boolean transitive) {
+        if (whiteListSet != null) {
+            return ((DefaultProjectDependencyGraph) projectDependencyGraph)
+                    .getDownstreamProjects(project, transitive, whiteListSet);
+        }
         return applyFilter(projectDependencyGraph.getDownstreamProjects(project, transitive));
     }
 
     public List<MavenProject> getUpstreamProjects(MavenProject project, boolean transitive) {
+        if (whiteListSet != null) {
+            return ((DefaultProjectDependencyGraph) projectDependencyGraph)
+                    .getUpstreamProjects(project, transitive, whiteListSet);
+        }
         return applyFilter(projectDependencyGraph.getUpstreamProjects(project, transitive));
     }
 
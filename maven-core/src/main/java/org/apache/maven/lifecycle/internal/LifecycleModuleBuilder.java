@@ -25,6 +25,7 @@
 import java.util.HashSet;
 import java.util.List;
 
+import org.apache.maven.execution.BuildDurations;
 import org.apache.maven.execution.BuildSuccess;
 import org.apache.maven.execution.ExecutionEvent;
 import org.apache.maven.execution.MavenSession;
@@ -113,6 +114,11 @@ public void buildProject(
 
             reactorContext.getResult().addBuildSummary(new BuildSuccess(currentProject, buildEndTime - buildStartTime));
 
+            BuildDurations buildDurations = BuildDurations.get(session);
+            if (buildDurations != null) {
+                buildDurations.recordProjectDuration(currentProject, buildEndTime - buildStartTime);
+            }
+
             eventCatapult.fire(ExecutionEvent.Type.ProjectSucceeded, session, null);
         } catch (Throwable t) {
             builderCommon.handleBuildError(reactorContext, rootSession, session, currentProject, t, buildStartTime);
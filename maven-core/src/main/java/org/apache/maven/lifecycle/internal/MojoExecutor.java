@@ -42,6 +42,7 @@
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.artifact.resolver.filter.CumulativeScopeArtifactFilter;
+import org.apache.maven.execution.BuildDurations;
 import org.apache.maven.execution.ExecutionEvent;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.internal.MultilineMessageHelper;
@@ -320,6 +321,7 @@ private void doExecute(MavenSession session, MojoExecution mojoExecution, Depend
     private void doExecute2(MavenSession session, MojoExecution mojoExecution) throws LifecycleExecutionException {
         eventCatapult.fire(ExecutionEvent.Type.MojoStarted, session, mojoExecution);
         try {
+            long mojoStartTime = System.currentTimeMillis();
             try {
                 pluginManager.executeMojo(session, mojoExecution);
             } catch (MojoFailureException
@@ -331,6 +333,12 @@ private void doExecute2(MavenSession session, MojoExecution mojoExecution) throw
                         messageBuilderFactory, mojoExecution, session.getCurrentProject(), e);
             }
 
+            BuildDurations buildDurations = BuildDurations.get(session);
+            if (buildDurations != null && session.getCurrentProject() != null) {
+                buildDurations.recordMojoDuration(
+                        session.getCurrentProject(), mojoExecution, System.currentTimeMillis() - mojoStartTime);
+            }
+
             eventCatapult.fire(ExecutionEvent.Type.MojoSucceeded, session, mojoExecution);
         } catch (LifecycleExecutionException e) {
             eventCatapult.fire(ExecutionEvent.Type.MojoFailed, session, mojoExecution, e);
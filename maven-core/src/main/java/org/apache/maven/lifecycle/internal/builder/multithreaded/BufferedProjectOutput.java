@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.lifecycle.internal.builder.multithreaded;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.maven.lifecycle.internal.ProjectSegment;
+import org.apache.maven.logwrapper.MavenSlf4jWrapperFactory;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Groups the log output of a multithreaded build by project. The messages logged by the thread building a project are
+ * kept aside while another project owns the output, and written in one block when the project finishes. The owner is
+ * the running project that started first: its messages are written as they come, and when it finishes, the next owner
+ * writes what it kept so far and goes on live. Messages logged outside of a project build are written as they come.
+ * <p>
+ * The messages are received from the Maven SLF4J provider, already rendered, and are kept as they are.
+ * <p>
+ * <strong>NOTE:</strong> This class is not part of any public api and can be changed or deleted without prior notice.
+ *
+ * @since 4.0.0
+ */
+class BufferedProjectOutput implements Consumer<String> {
+
+    private final PrintStream out;
+
+    private final ThreadLocal<ProjectOutput> current = new ThreadLocal<>();
+
+    /**
+     * The projects being built, in the order they started, guarded by {@link #out}, as is the owner.
+     */
+    private final Map<ProjectSegment, ProjectOutput> running = new LinkedHashMap<>();
+
+    private ProjectOutput owner;
+
+    BufferedProjectOutput(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Redirects the loggers to a new instance writing to the current standard output.
+     *
+     * @return the instance, or {@code null} if the SLF4J provider cannot redirect its loggers
+     */
+    static BufferedProjectOutput install() {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (loggerFactory instanceof MavenSlf4jWrapperFactory wrapperFactory) {
+            BufferedProjectOutput output = new BufferedProjectOutput(System.out);
+            if (wrapperFactory.setLogSink(output)) {
+                return output;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes what is left and restores the output of the loggers.
+     */
+    void uninstall() {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (loggerFactory instanceof MavenSlf4jWrapperFactory wrapperFactory) {
+            wrapperFactory.setLogSink(null);
+        }
+        synchronized (out) {
+            running.values().forEach(this::writeBlock);
+            running.clear();
+            owner = null;
+        }
+    }
+
+    /**
+     * Associates the current thread with the given project, which starts building.
+     */
+    void projectStarted(ProjectSegment projectSegment) {
+        ProjectOutput output = new ProjectOutput();
+        synchronized (out) {
+            running.put(projectSegment, output);
+            if (owner == null) {
+                owner = output;
+                output.live = true;
+            }
+        }
+        current.set(output);
+    }
+
+    /**
+     * Writes the output of the given project, if it does not own the output, and hands the output over to the next
+     * running project if it does.
+     */
+    void projectFinished(ProjectSegment projectSegment) {
+        current.remove();
+        synchronized (out) {
+            ProjectOutput output = running.remove(projectSegment);
+            if (output == null) {
+                return;
+            }
+            if (output == owner) {
+                owner = running.isEmpty() ? null : running.values().iterator().next();
+                if (owner != null) {
+                    writeBlock(owner);
+                }
+            } else {
+                writeBlock(output);
+            }
+        }
+    }
+
+    @Override
+    public void accept(String message) {
+        ProjectOutput output = current.get();
+        if (output != null) {
+            synchronized (output) {
+                if (!output.live) {
+                    output.messages.add(message);
+                    return;
+                }
+            }
+        }
+        synchronized (out) {
+            out.println(message);
+        }
+    }
+
+    /**
+     * Writes the kept messages of a project at once, after which the project writes its messages as they come.
+     */
+    private void writeBlock(ProjectOutput output) {
+        synchronized (output) {
+            if (!output.messages.isEmpty()) {
+                StringBuilder block = new StringBuilder();
+                for (String message : output.messages) {
+                    block.append(message).append(System.lineSeparator());
+                }
+                out.print(block);
+                out.flush();
+                output.messages.clear();
+            }
+            output.live = true;
+        }
+    }
+
+    private static final class ProjectOutput {
+        private final List<String> messages = new ArrayList<>();
+
+        private boolean live;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.lifecycle.internal.builder.multithreaded;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.apache.maven.api.SessionData;
+import org.apache.maven.eventspy.AbstractEventSpy;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Tracks the lifecycle progress of the projects being built, and releases a project as soon as it starts a mojo bound
+ * to a phase after the pipelining phase. Downstream projects can then be started while the released project is still
+ * running its later phases, such as {@code test}.
+ * <p>
+ * The pipeline of the current task segment is stored in the session data, where {@link BuildPipelineSpy} finds it
+ * when forwarding mojo execution events.
+ * </p>
+ * <strong>NOTE:</strong> This class is not part of any public api and can be changed or deleted without prior notice.
+ *
+ * @since 4.0.0
+ */
+class BuildPipeline {
+
+    static final SessionData.Key<BuildPipeline> KEY = SessionData.key(BuildPipeline.class);
+
+    private final List<String> phases;
+
+    private final int releasePhaseIndex;
+
+    private final Consumer<MavenProject> releaseListener;
+
+    private final Set<MavenProject> releasedProjects = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param phases the phases of the lifecycle containing the release phase, in order
+     * @param releasePhase the last phase a project must complete before its downstream projects can start
+     * @param releaseListener notified, on the build thread, when a project is released
+     */
+    BuildPipeline(List<String> phases, String releasePhase, Consumer<MavenProject> releaseListener) {
+        this.phases = phases;
+        this.releasePhaseIndex = phases.indexOf(releasePhase);
+        this.releaseListener = releaseListener;
+        if (releasePhaseIndex < 0) {
+            throw new IllegalArgumentException("Phase " + releasePhase + " is not part of the lifecycle " + phases);
+        }
+    }
+
+    void mojoStarted(MavenProject project, String phase) {
+        if (project != null && phase != null && phases.indexOf(phase) > releasePhaseIndex) {
+            if (releasedProjects.add(project)) {
+                releaseListener.accept(project);
+            }
+        }
+    }
+
+    /**
+     * Forwards mojo execution events to the {@link BuildPipeline} of the session, if any.
+     */
+    @Named
+    @Singleton
+    @SuppressWarnings("unused")
+    static class BuildPipelineSpy extends AbstractEventSpy {
+        @Override
+        public void onEvent(Object event) {
+            if (event instanceof ExecutionEvent executionEvent
+                    && executionEvent.getType() == ExecutionEvent.Type.MojoStarted
+                    && executionEvent.getSession().getSession() != null) {
+                BuildPipeline pipeline =
+                        executionEvent.getSession().getSession().getData().get(KEY);
+                if (pipeline != null) {
+                    pipeline.mojoStarted(
+                            executionEvent.getProject(),
+                            executionEvent.getMojoExecution().getLifecyclePhase());
+                }
+            }
+        }
+    }
+}
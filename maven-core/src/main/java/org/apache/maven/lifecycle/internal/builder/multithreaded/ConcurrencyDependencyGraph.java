@@ -19,10 +19,14 @@
 package org.apache.maven.lifecycle.internal.builder.multithreaded;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.ToLongFunction;
 
 import org.apache.maven.execution.ProjectDependencyGraph;
 import org.apache.maven.lifecycle.internal.ProjectBuildList;
@@ -43,11 +47,31 @@ public class ConcurrencyDependencyGraph {
 
     private final ProjectDependencyGraph projectDependencyGraph;
 
+    private final ToLongFunction<MavenProject> projectWeights;
+
     private final Set<MavenProject> finishedProjects = new HashSet<>();
 
+    private final Set<MavenProject> releasedProjects = new HashSet<>();
+
+    private Map<MavenProject, Long> criticalPathWeights;
+
     public ConcurrencyDependencyGraph(ProjectBuildList projectBuilds, ProjectDependencyGraph projectDependencyGraph) {
+        this(projectBuilds, projectDependencyGraph, p -> 1L);
+    }
+
+    /**
+     * @param projectBuilds the builds to schedule
+     * @param projectDependencyGraph the reactor dependency graph
+     * @param projectWeights the estimated cost of building a single project, used for critical path ordering
+     * @since 4.0.0
+     */
+    public ConcurrencyDependencyGraph(
+            ProjectBuildList projectBuilds,
+            ProjectDependencyGraph projectDependencyGraph,
+            ToLongFunction<MavenProject> projectWeights) {
         this.projectDependencyGraph = projectDependencyGraph;
         this.projectBuilds = projectBuilds;
+        this.projectWeights = projectWeights;
     }
 
     public int getNumberOfBuilds() {
@@ -83,22 +107,95 @@ public List<MavenProject> getRootSchedulableBuilds() {
      */
     public List<MavenProject> markAsFinished(MavenProject mavenProject) {
         finishedProjects.add(mavenProject);
+        if (!releasedProjects.add(mavenProject)) {
+            // downstream projects have been scheduled when the project was released
+            return new ArrayList<>();
+        }
         return getSchedulableNewProcesses(mavenProject);
     }
 
-    private List<MavenProject> getSchedulableNewProcesses(MavenProject finishedProject) {
+    /**
+     * Marks the provided project as released: it is still being built, but has progressed far enough in its lifecycle
+     * for its downstream projects to start. A project that has been released does not schedule any new builds when it
+     * is finished.
+     *
+     * @param mavenProject The project
+     * @return The list of builds that are eligible for starting now that the provided project is released
+     * @since 4.0.0
+     */
+    public List<MavenProject> markAsReleased(MavenProject mavenProject) {
+        if (!releasedProjects.add(mavenProject)) {
+            return new ArrayList<>();
+        }
+        return getSchedulableNewProcesses(mavenProject);
+    }
+
+    private List<MavenProject> getSchedulableNewProcesses(MavenProject releasedProject) {
         List<MavenProject> result = new ArrayList<>();
         // schedule dependent projects, if all of their requirements are met
-        for (MavenProject dependentProject : projectDependencyGraph.getDownstreamProjects(finishedProject, false)) {
+        for (MavenProject dependentProject : projectDependencyGraph.getDownstreamProjects(releasedProject, false)) {
             final List<MavenProject> upstreamProjects =
                     projectDependencyGraph.getUpstreamProjects(dependentProject, false);
-            if (finishedProjects.containsAll(upstreamProjects)) {
+            if (releasedProjects.containsAll(upstreamProjects)) {
                 result.add(dependentProject);
             }
         }
         return result;
     }
 
+    /**
+     * Computes the weight of the heaviest chain of builds starting with the given project, i.e. the weight of the
+     * project itself plus the heaviest critical path of its downstream projects within this build.
+     *
+     * @param project The project
+     * @return the critical path weight of the project, or {@code 0} if the project is not part of this build
+     * @since 4.0.0
+     */
+    public long getCriticalPathWeight(MavenProject project) {
+        if (criticalPathWeights == null) {
+            Set<MavenProject> projects = projectBuilds.getProjects();
+            Map<MavenProject, Long> weights = new HashMap<>();
+            for (MavenProject p : projects) {
+                computeCriticalPathWeight(p, projects, weights);
+            }
+            criticalPathWeights = weights;
+        }
+        return criticalPathWeights.getOrDefault(project, 0L);
+    }
+
+    private long computeCriticalPathWeight(
+            MavenProject project, Set<MavenProject> projects, Map<MavenProject, Long> weights) {
+        Long weight = weights.get(project);
+        if (weight == null) {
+            long downstream = 0;
+            for (MavenProject dependent : projectDependencyGraph.getDownstreamProjects(project, false)) {
+                if (projects.contains(dependent)) {
+                    downstream = Math.max(downstream, computeCriticalPathWeight(dependent, projects, weights));
+                }
+            }
+            weight = Math.max(1L, projectWeights.applyAsLong(project)) + downstream;
+            weights.put(project, weight);
+        }
+        return weight;
+    }
+
+    /**
+     * Orders projects so that the one heading the heaviest remaining chain of builds comes first. Ties are broken by
+     * the reactor build order.
+     *
+     * @return a comparator ordering projects by descending critical path weight
+     * @since 4.0.0
+     */
+    public Comparator<MavenProject> getCriticalPathOrder() {
+        Map<MavenProject, Integer> buildOrder = new HashMap<>();
+        for (ProjectSegment projectBuild : projectBuilds) {
+            buildOrder.putIfAbsent(projectBuild.getProject(), buildOrder.size());
+        }
+        return Comparator.comparingLong(this::getCriticalPathWeight)
+                .reversed()
+                .thenComparing(p -> buildOrder.getOrDefault(p, Integer.MAX_VALUE));
+    }
+
     /**
      * @return set of projects that have yet to be processed successfully by the build.
      */
@@ -22,20 +22,34 @@
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import java.util.ArrayDeque;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
+import org.apache.maven.api.Constants;
+import org.apache.maven.execution.BuildDurations;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.internal.VirtualThreads;
+import org.apache.maven.lifecycle.DefaultLifecycles;
+import org.apache.maven.lifecycle.Lifecycle;
 import org.apache.maven.lifecycle.internal.BuildThreadFactory;
 import org.apache.maven.lifecycle.internal.LifecycleModuleBuilder;
 import org.apache.maven.lifecycle.internal.ProjectBuildList;
@@ -45,6 +59,7 @@
 import org.apache.maven.lifecycle.internal.TaskSegment;
 import org.apache.maven.lifecycle.internal.builder.Builder;
 import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.util.ConfigUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,6 +70,17 @@
  * set with <code>-T</code> on the command-line) and the number of projects to build. As such, building a single project
  * will always result in a sequential build, regardless of the thread count.
  * </p>
+ * <p>
+ * Projects whose upstream projects are built are started in the order they become ready, unless the
+ * {@value Constants#MAVEN_BUILDER_SCHEDULING} property is set to {@value #SCHEDULING_CRITICAL_PATH}, in which case the
+ * ready project heading the longest remaining chain of downstream builds is started first. The chain is weighed with
+ * the {@link BuildDurations} recorded by earlier builds when available, and in number of projects otherwise.
+ * </p>
+ * <p>
+ * By default, a project is started once all of its upstream projects are completely built. When the
+ * {@value Constants#MAVEN_BUILDER_PIPELINING} property names a lifecycle phase, a project is started as soon as its
+ * upstream projects have started mojos bound to later phases, see {@link BuildPipeline}.
+ * </p>
  * <strong>NOTE:</strong> This class is not part of any public api and can be changed or deleted without prior notice.
  *
  * @since 3.0
@@ -64,13 +90,37 @@
 @Named("multithreaded")
 @Singleton
 public class MultiThreadedBuilder implements Builder {
+
+    /**
+     * Starts ready projects in the order they became schedulable.
+     */
+    public static final String SCHEDULING_FIFO = "fifo";
+
+    /**
+     * Starts the ready project with the longest remaining downstream path first.
+     */
+    public static final String SCHEDULING_CRITICAL_PATH = "critical-path";
+
+    /**
+     * Writes the log output of concurrently built projects as it comes.
+     */
+    public static final String OUTPUT_INTERLEAVED = "interleaved";
+
+    /**
+     * Writes the log output of each project in one block, see {@link BufferedProjectOutput}.
+     */
+    public static final String OUTPUT_BUFFERED = "buffered";
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final LifecycleModuleBuilder lifecycleModuleBuilder;
 
+    private final DefaultLifecycles defaultLifecycles;
+
     @Inject
-    public MultiThreadedBuilder(LifecycleModuleBuilder lifecycleModuleBuilder) {
+    public MultiThreadedBuilder(LifecycleModuleBuilder lifecycleModuleBuilder, DefaultLifecycles defaultLifecycles) {
         this.lifecycleModuleBuilder = lifecycleModuleBuilder;
+        this.defaultLifecycles = defaultLifecycles;
     }
 
     @Override
@@ -90,41 +140,221 @@ public void build(
         for (ProjectSegment segment : projectBuilds) {
             segment.getSession().setParallel(parallel);
         }
-        ExecutorService executor = Executors.newFixedThreadPool(nThreads, new BuildThreadFactory());
-        CompletionService<ProjectSegment> service = new ExecutorCompletionService<>(executor);
+        ExecutorService executor = createExecutor(session, nThreads);
+        // released projects are signalled through the completion queue as well
+        BlockingQueue<Future<ProjectSegment>> completions = new LinkedBlockingQueue<>();
+        CompletionService<ProjectSegment> service = new ExecutorCompletionService<>(executor, completions);
+        String pipeliningPhase = getPipeliningPhase(session);
+
+        BufferedProjectOutput output = parallel ? createOutput(session) : null;
 
-        // Currently disabled
-        ThreadOutputMuxer muxer = null; // new ThreadOutputMuxer( analyzer.getProjectBuilds(), System.out );
+        try {
+            buildTaskSegments(
+                    session,
+                    reactorContext,
+                    projectBuilds,
+                    taskSegments,
+                    service,
+                    completions,
+                    nThreads,
+                    pipeliningPhase,
+                    output);
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } finally {
+            if (output != null) {
+                output.uninstall();
+            }
+        }
+    }
 
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private void buildTaskSegments(
+            MavenSession session,
+            ReactorContext reactorContext,
+            ProjectBuildList projectBuilds,
+            List<TaskSegment> taskSegments,
+            CompletionService<ProjectSegment> service,
+            BlockingQueue<Future<ProjectSegment>> completions,
+            int nThreads,
+            String pipeliningPhase,
+            BufferedProjectOutput output) {
         for (TaskSegment taskSegment : taskSegments) {
             ProjectBuildList segmentProjectBuilds = projectBuilds.getByTaskSegment(taskSegment);
             Map<MavenProject, ProjectSegment> projectBuildMap = projectBuilds.selectSegment(taskSegment);
+            if (pipeliningPhase != null) {
+                // drop releases left over by a previous, interrupted task segment
+                completions.removeIf(ProjectRelease.class::isInstance);
+                session.getSession()
+                        .getData()
+                        .set(
+                                BuildPipeline.KEY,
+                                new BuildPipeline(
+                                        defaultLifecycles.get(pipeliningPhase).getPhases(),
+                                        pipeliningPhase,
+                                        p -> released(completions, projectBuildMap.get(p))));
+            }
             try {
-                ConcurrencyDependencyGraph analyzer =
-                        new ConcurrencyDependencyGraph(segmentProjectBuilds, session.getProjectDependencyGraph());
+                ConcurrencyDependencyGraph analyzer = new ConcurrencyDependencyGraph(
+                        segmentProjectBuilds,
+                        session.getProjectDependencyGraph(),
+                        getProjectWeights(session, segmentProjectBuilds));
+                Queue<MavenProject> readyProjects = createReadyQueue(session, analyzer);
                 multiThreadedProjectTaskSegmentBuild(
-                        analyzer, reactorContext, session, service, taskSegment, projectBuildMap, muxer);
+                        analyzer,
+                        reactorContext,
+                        session,
+                        service,
+                        completions,
+                        nThreads,
+                        readyProjects,
+                        taskSegment,
+                        projectBuildMap,
+                        output);
                 if (reactorContext.getReactorBuildStatus().isHalted()) {
                     break;
                 }
             } catch (Exception e) {
                 session.getResult().addException(e);
                 break;
+            } finally {
+                if (pipeliningPhase != null) {
+                    session.getSession().getData().set(BuildPipeline.KEY, null);
+                }
             }
         }
+    }
 
-        executor.shutdown();
-        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    /**
+     * Groups the log output by project when {@value Constants#MAVEN_BUILDER_OUTPUT} is {@value #OUTPUT_BUFFERED}.
+     *
+     * @return the output, or {@code null} if the log output is interleaved
+     */
+    private BufferedProjectOutput createOutput(MavenSession session) {
+        if (session.getRepositorySession() == null) {
+            return null;
+        }
+        String output = ConfigUtils.getString(
+                session.getRepositorySession(), OUTPUT_INTERLEAVED, Constants.MAVEN_BUILDER_OUTPUT);
+        switch (output.toLowerCase(Locale.ENGLISH)) {
+            case OUTPUT_INTERLEAVED:
+                return null;
+            case OUTPUT_BUFFERED:
+                BufferedProjectOutput bufferedOutput = BufferedProjectOutput.install();
+                if (bufferedOutput == null) {
+                    logger.warn(
+                            "The SLF4J provider does not support {}={}, the log output is interleaved",
+                            Constants.MAVEN_BUILDER_OUTPUT,
+                            OUTPUT_BUFFERED);
+                }
+                return bufferedOutput;
+            default:
+                logger.warn(
+                        "Invalid value specified for property {}: '{}'. Supported values are {} and {}",
+                        Constants.MAVEN_BUILDER_OUTPUT,
+                        output,
+                        OUTPUT_INTERLEAVED,
+                        OUTPUT_BUFFERED);
+                return null;
+        }
+    }
+
+    /**
+     * Creates the executor running the project builds. The number of projects built concurrently is bounded by the
+     * scheduling loop, so the executor may use as many virtual threads as needed.
+     */
+    private ExecutorService createExecutor(MavenSession session, int nThreads) {
+        if (session.getRepositorySession() != null
+                && ConfigUtils.getBoolean(session.getRepositorySession(), false, Constants.MAVEN_VIRTUAL_THREADS)) {
+            if (VirtualThreads.isSupported()) {
+                return VirtualThreads.newThreadPerTaskExecutor("BuilderThread-");
+            }
+            logger.warn(
+                    "Property {} is set but virtual threads require Java 21 or later, using platform threads",
+                    Constants.MAVEN_VIRTUAL_THREADS);
+        }
+        return Executors.newFixedThreadPool(nThreads, new BuildThreadFactory());
+    }
+
+    /**
+     * Weighs projects with their recorded build durations. Projects without a recorded duration are assumed to take
+     * the average time of the others.
+     */
+    private ToLongFunction<MavenProject> getProjectWeights(MavenSession session, ProjectBuildList projectBuilds) {
+        BuildDurations buildDurations = BuildDurations.get(session);
+        if (buildDurations == null) {
+            return p -> 1L;
+        }
+        long average = (long) projectBuilds.getProjects().stream()
+                .mapToLong(buildDurations::getProjectDuration)
+                .filter(d -> d >= 0)
+                .average()
+                .orElse(1);
+        return p -> {
+            long duration = buildDurations.getProjectDuration(p);
+            return duration >= 0 ? duration : average;
+        };
     }
 
+    private String getPipeliningPhase(MavenSession session) {
+        if (session.getRepositorySession() == null || session.getSession() == null) {
+            return null;
+        }
+        String phase = ConfigUtils.getString(session.getRepositorySession(), null, Constants.MAVEN_BUILDER_PIPELINING);
+        if (phase == null || phase.isEmpty()) {
+            return null;
+        }
+        Lifecycle lifecycle = defaultLifecycles.get(phase);
+        if (lifecycle == null) {
+            logger.warn(
+                    "Invalid value specified for property {}: '{}' is not a lifecycle phase, pipelining is disabled",
+                    Constants.MAVEN_BUILDER_PIPELINING,
+                    phase);
+            return null;
+        }
+        return phase;
+    }
+
+    private static void released(BlockingQueue<Future<ProjectSegment>> completions, ProjectSegment projectSegment) {
+        if (projectSegment != null) {
+            completions.add(new ProjectRelease(projectSegment));
+        }
+    }
+
+    private Queue<MavenProject> createReadyQueue(MavenSession session, ConcurrencyDependencyGraph analyzer) {
+        String scheduling = SCHEDULING_FIFO;
+        if (session.getRepositorySession() != null) {
+            scheduling = ConfigUtils.getString(
+                    session.getRepositorySession(), SCHEDULING_FIFO, Constants.MAVEN_BUILDER_SCHEDULING);
+        }
+        switch (scheduling.toLowerCase(Locale.ENGLISH)) {
+            case SCHEDULING_FIFO:
+                return new ArrayDeque<>();
+            case SCHEDULING_CRITICAL_PATH:
+                return new PriorityQueue<>(analyzer.getCriticalPathOrder());
+            default:
+                logger.warn(
+                        "Invalid value specified for property {}: '{}'. Supported values are {} and {}",
+                        Constants.MAVEN_BUILDER_SCHEDULING,
+                        scheduling,
+                        SCHEDULING_FIFO,
+                        SCHEDULING_CRITICAL_PATH);
+                return new ArrayDeque<>();
+        }
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
     private void multiThreadedProjectTaskSegmentBuild(
             ConcurrencyDependencyGraph analyzer,
             ReactorContext reactorContext,
             MavenSession rootSession,
             CompletionService<ProjectSegment> service,
+            BlockingQueue<Future<ProjectSegment>> completions,
+            int nThreads,
+            Queue<MavenProject> readyProjects,
             TaskSegment taskSegment,
             Map<MavenProject, ProjectSegment> projectBuildList,
-            ThreadOutputMuxer muxer) {
+            BufferedProjectOutput output) {
         // gather artifactIds which are not unique so that the respective thread names can be extended with the groupId
         Set<String> duplicateArtifactIds = projectBuildList.keySet().stream()
                 .map(MavenProject::getArtifactId)
@@ -136,39 +366,50 @@ private void multiThreadedProjectTaskSegmentBuild(
                 .collect(Collectors.toSet());
 
         // schedule independent projects
-        for (MavenProject mavenProject : analyzer.getRootSchedulableBuilds()) {
-            ProjectSegment projectSegment = projectBuildList.get(mavenProject);
-            logger.debug("Scheduling: {}", projectSegment.getProject());
-            Callable<ProjectSegment> cb = createBuildCallable(
-                    rootSession, projectSegment, reactorContext, taskSegment, muxer, duplicateArtifactIds);
-            service.submit(cb);
-        }
+        readyProjects.addAll(analyzer.getRootSchedulableBuilds());
+        int running = submitReadyProjects(
+                rootSession,
+                service,
+                nThreads,
+                readyProjects,
+                reactorContext,
+                taskSegment,
+                projectBuildList,
+                output,
+                duplicateArtifactIds);
 
-        // for each finished project
-        for (int i = 0; i < analyzer.getNumberOfBuilds(); i++) {
+        // for each finished or released project
+        int finished = 0;
+        while (finished < analyzer.getNumberOfBuilds()) {
             try {
-                ProjectSegment projectBuild = service.take().get();
+                Future<ProjectSegment> completion = completions.take();
+                ProjectSegment projectBuild = completion.get();
+                boolean released = completion instanceof ProjectRelease;
+                if (!released) {
+                    finished++;
+                    running--;
+                }
                 if (reactorContext.getReactorBuildStatus().isHalted()) {
                     break;
                 }
 
                 // MNG-6170: Only schedule other modules from reactor if we have more modules to build than one.
                 if (analyzer.getNumberOfBuilds() > 1) {
-                    final List<MavenProject> newItemsThatCanBeBuilt =
-                            analyzer.markAsFinished(projectBuild.getProject());
-                    for (MavenProject mavenProject : newItemsThatCanBeBuilt) {
-                        ProjectSegment scheduledDependent = projectBuildList.get(mavenProject);
-                        logger.debug("Scheduling: {}", scheduledDependent);
-                        Callable<ProjectSegment> cb = createBuildCallable(
-                                rootSession,
-                                scheduledDependent,
-                                reactorContext,
-                                taskSegment,
-                                muxer,
-                                duplicateArtifactIds);
-                        service.submit(cb);
-                    }
+                    readyProjects.addAll(
+                            released
+                                    ? analyzer.markAsReleased(projectBuild.getProject())
+                                    : analyzer.markAsFinished(projectBuild.getProject()));
                 }
+                running += submitReadyProjects(
+                        rootSession,
+                        service,
+                        nThreads - running,
+                        readyProjects,
+                        reactorContext,
+                        taskSegment,
+                        projectBuildList,
+                        output,
+                        duplicateArtifactIds);
             } catch (InterruptedException e) {
                 rootSession.getResult().addException(e);
                 break;
@@ -180,12 +421,40 @@ private void multiThreadedProjectTaskSegmentBuild(
         }
     }
 
+    /**
+     * Submits ready projects, in the order of the ready queue, until all free threads are busy.
+     *
+     * @return the number of submitted projects
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private int submitReadyProjects(
+            MavenSession rootSession,
+            CompletionService<ProjectSegment> service,
+            int freeThreads,
+            Queue<MavenProject> readyProjects,
+            ReactorContext reactorContext,
+            TaskSegment taskSegment,
+            Map<MavenProject, ProjectSegment> projectBuildList,
+            BufferedProjectOutput output,
+            Set<String> duplicateArtifactIds) {
+        int submitted = 0;
+        while (submitted < freeThreads && !readyProjects.isEmpty()) {
+            ProjectSegment projectSegment = projectBuildList.get(readyProjects.poll());
+            logger.debug("Scheduling: {}", projectSegment.getProject());
+            Callable<ProjectSegment> cb = createBuildCallable(
+                    rootSession, projectSegment, reactorContext, taskSegment, output, duplicateArtifactIds);
+            service.submit(cb);
+            submitted++;
+        }
+        return submitted;
+    }
+
     private Callable<ProjectSegment> createBuildCallable(
             final MavenSession rootSession,
             final ProjectSegment projectBuild,
             final ReactorContext reactorContext,
             final TaskSegment taskSegment,
-            final ThreadOutputMuxer muxer,
+            final BufferedProjectOutput output,
             final Set<String> duplicateArtifactIds) {
         return () -> {
             final Thread currentThread = Thread.currentThread();
@@ -197,16 +466,30 @@ private Callable<ProjectSegment> createBuildCallable(
                     : project.getArtifactId();
             currentThread.setName("mvn-builder-" + threadNameSuffix);
 
+            if (output != null) {
+                output.projectStarted(projectBuild);
+            }
             try {
-                // muxer.associateThreadWithProjectSegment( projectBuild );
                 lifecycleModuleBuilder.buildProject(
                         projectBuild.getSession(), rootSession, reactorContext, project, taskSegment);
-                // muxer.setThisModuleComplete( projectBuild );
 
                 return projectBuild;
             } finally {
+                if (output != null) {
+                    output.projectFinished(projectBuild);
+                }
                 currentThread.setName(originalThreadName);
             }
         };
     }
+
+    /**
+     * Signals that a project has been released by the {@link BuildPipeline}. Releases are put in the completion
+     * queue of the builder, so that the scheduling loop wakes up for both finished and released projects.
+     */
+    private static final class ProjectRelease extends CompletableFuture<ProjectSegment> {
+        ProjectRelease(ProjectSegment projectSegment) {
+            complete(projectSegment);
+        }
+    }
 }
@@ -37,7 +37,9 @@
  * logger implementation at any time.
  *
  * @since 3.0
+ * @deprecated unused, the log output of multithreaded builds is grouped by project with {@code maven.builder.output}
  */
+@Deprecated
 @SuppressWarnings({"SynchronizationOnLocalVariableOrMethodParameter"})
 public class ThreadOutputMuxer {
     private final Iterator<ProjectSegment> projects;
@@ -21,14 +21,21 @@
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import java.io.File;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.maven.RepositoryUtils;
+import org.apache.maven.api.Constants;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.project.MavenProject;
@@ -40,9 +47,17 @@
 import org.eclipse.aether.repository.LocalRepository;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.repository.WorkspaceRepository;
+import org.eclipse.aether.util.ConfigUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Default PluginCache implementation. Assumes cached data does not change.
+ * <p>
+ * When {@link Constants#MAVEN_PLUGIN_REALM_CACHE_MAX_UNUSED} is set, which is meant for containers running many
+ * builds, the cache tracks which sessions use each realm. Realms whose plugin artifacts changed on disk are built
+ * again once no session uses them, and when a session ends, the least recently used realms that are not used anymore
+ * are disposed until at most the given number of them remains.
  */
 @Named
 @Singleton
@@ -68,6 +83,11 @@ protected static class CacheKey implements Key {
 
         private final int hashCode;
 
+        /**
+         * The session the key has been created for, which is not part of the identity of the key.
+         */
+        private final WeakReference<RepositorySystemSession> session;
+
         public CacheKey(
                 Plugin plugin,
                 ClassLoader parentRealm,
@@ -89,6 +109,7 @@ public CacheKey(
             this.parentRealm = parentRealm;
             this.foreignImports = (foreignImports != null) ? foreignImports : Collections.emptyMap();
             this.filter = dependencyFilter;
+            this.session = new WeakReference<>(session);
 
             int hash = 17;
             hash = hash * 31 + CacheUtils.pluginHashCode(plugin);
@@ -133,8 +154,19 @@ public boolean equals(Object o) {
         }
     }
 
+    private static final Object ACQUIRED_KEYS = DefaultPluginRealmCache.class.getName() + ".acquired";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
     protected final Map<Key, CacheRecord> cache = new ConcurrentHashMap<>();
 
+    /**
+     * The usage of the cached records, only tracked for the sessions which limit the number of unused realms.
+     */
+    private final Map<Key, Usage> usages = new ConcurrentHashMap<>();
+
+    private final AtomicLong clock = new AtomicLong();
+
     public Key createKey(
             Plugin plugin,
             ClassLoader parentRealm,
@@ -152,6 +184,31 @@ public CacheRecord get(Key key) {
     @Override
     public CacheRecord get(Key key, PluginRealmSupplier supplier)
             throws PluginResolutionException, PluginContainerException {
+        RepositorySystemSession session = key instanceof CacheKey k ? k.session.get() : null;
+        int maxUnused = session != null
+                ? ConfigUtils.getInteger(session, -1, Constants.MAVEN_PLUGIN_REALM_CACHE_MAX_UNUSED)
+                : -1;
+        if (maxUnused < 0) {
+            return load(key, supplier);
+        }
+        while (true) {
+            synchronized (usages) {
+                Usage usage = usages.get(key);
+                if (usage != null && usage.references.get() == 0 && !usage.isUpToDate()) {
+                    logger.debug("Plugin realm of {} is out of date, disposing it", key);
+                    evict(key);
+                }
+            }
+            CacheRecord record = load(key, supplier);
+            if (acquire(session, key, record, maxUnused)) {
+                return record;
+            }
+            logger.debug("Plugin realm of {} has been disposed by another session, loading it again", key);
+        }
+    }
+
+    private CacheRecord load(Key key, PluginRealmSupplier supplier)
+            throws PluginResolutionException, PluginContainerException {
         try {
             return cache.computeIfAbsent(key, k -> {
                 try {
@@ -188,14 +245,78 @@ public CacheRecord put(Key key, ClassRealm pluginRealm, List<Artifact> pluginArt
 
     public void flush() {
         for (CacheRecord record : cache.values()) {
-            ClassRealm realm = record.getRealm();
-            try {
-                realm.getWorld().disposeRealm(realm.getId());
-            } catch (NoSuchRealmException e) {
-                // ignore
-            }
+            dispose(record);
         }
         cache.clear();
+        usages.clear();
+    }
+
+    /**
+     * Records that the session uses the given record, until the end of the session. Returns {@code false} if the
+     * record has been evicted since it has been loaded, in which case it must not be used.
+     */
+    private boolean acquire(RepositorySystemSession session, Key key, CacheRecord record, int maxUnused) {
+        @SuppressWarnings("unchecked")
+        Set<Key> acquired = (Set<Key>) session.getData().computeIfAbsent(ACQUIRED_KEYS, () -> {
+            Set<Key> keys = ConcurrentHashMap.newKeySet();
+            session.addOnSessionEndedHandler(() -> release(keys, maxUnused));
+            return keys;
+        });
+        synchronized (usages) {
+            if (cache.get(key) != record) {
+                return false;
+            }
+            Usage usage = usages.computeIfAbsent(key, k -> new Usage(record));
+            if (acquired.add(key)) {
+                usage.references.incrementAndGet();
+            }
+            usage.lastUsed = clock.incrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * Releases the records used by an ended session and disposes the least recently used unused realms beyond the
+     * given count.
+     */
+    private void release(Set<Key> keys, int maxUnused) {
+        synchronized (usages) {
+            for (Key key : keys) {
+                Usage usage = usages.get(key);
+                if (usage != null) {
+                    usage.references.decrementAndGet();
+                }
+            }
+            List<Map.Entry<Key, Usage>> unused = new ArrayList<>();
+            for (Map.Entry<Key, Usage> entry : usages.entrySet()) {
+                if (entry.getValue().references.get() <= 0) {
+                    unused.add(entry);
+                }
+            }
+            unused.sort(Comparator.comparingLong(e -> e.getValue().lastUsed));
+            for (int i = 0; i < unused.size() - maxUnused; i++) {
+                Key key = unused.get(i).getKey();
+                logger.debug("Disposing unused plugin realm of {}", key);
+                evict(key);
+            }
+        }
+    }
+
+    private void evict(Key key) {
+        usages.remove(key);
+        CacheRecord record = cache.remove(key);
+        if (record != null) {
+            dispose(record);
+        }
+    }
+
+    private static void dispose(CacheRecord record) {
+        ClassRealm realm = record.getRealm();
+        try {
+            realm.getWorld().disposeRealm(realm.getId());
+        } catch (NoSuchRealmException e) {
+            // ignore
+        }
     }
 
     protected static int pluginHashCode(Plugin plugin) {
@@ -213,4 +334,40 @@ public void register(MavenProject project, Key key, CacheRecord record) {
     public void dispose() {
         flush();
     }
+
+    /**
+     * The sessions using a record, when it has last been used, and the state of its artifacts when it was created.
+     */
+    private static class Usage {
+        private final AtomicInteger references = new AtomicInteger();
+
+        private final List<File> files = new ArrayList<>();
+
+        private final List<Long> stamps = new ArrayList<>();
+
+        private long lastUsed;
+
+        Usage(CacheRecord record) {
+            for (Artifact artifact : record.getArtifacts()) {
+                File file = artifact.getFile();
+                if (file != null) {
+                    files.add(file);
+                    stamps.add(stamp(file));
+                }
+            }
+        }
+
+        boolean isUpToDate() {
+            for (int i = 0; i < files.size(); i++) {
+                if (stamp(files.get(i)) != stamps.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long stamp(File file) {
+            return file.lastModified() * 31 + file.length();
+        }
+    }
 }
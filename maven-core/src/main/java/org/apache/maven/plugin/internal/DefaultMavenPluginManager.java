@@ -25,6 +25,7 @@
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
@@ -165,7 +166,8 @@ public class DefaultMavenPluginManager implements MavenPluginManager {
     private final PluginValidationManager pluginValidationManager;
     private final List<MavenPluginPrerequisitesChecker> prerequisitesCheckers;
     private final ExtensionDescriptorBuilder extensionDescriptorBuilder = new ExtensionDescriptorBuilder();
-    private final PluginDescriptorBuilder builder = new PluginDescriptorBuilder();
+    private final PluginDescriptorIndex pluginDescriptorIndex =
+            new PluginDescriptorIndex(new PluginDescriptorBuilder());
 
     @Inject
     @SuppressWarnings("checkstyle:ParameterNumber")
@@ -207,7 +209,7 @@ public PluginDescriptor getPluginDescriptor(
 
             Artifact pluginArtifact = RepositoryUtils.toArtifact(artifact);
 
-            PluginDescriptor descriptor = extractPluginDescriptor(pluginArtifact, plugin);
+            PluginDescriptor descriptor = extractPluginDescriptor(pluginArtifact, plugin, session);
 
             boolean isBlankVersion = descriptor.getRequiredMavenVersion() == null
                     || descriptor.getRequiredMavenVersion().trim().isEmpty();
@@ -225,7 +227,8 @@ public PluginDescriptor getPluginDescriptor(
         return pluginDescriptor;
     }
 
-    private PluginDescriptor extractPluginDescriptor(Artifact pluginArtifact, Plugin plugin)
+    private PluginDescriptor extractPluginDescriptor(
+            Artifact pluginArtifact, Plugin plugin, RepositorySystemSession session)
             throws PluginDescriptorParsingException, InvalidPluginDescriptorException {
         PluginDescriptor pluginDescriptor = null;
 
@@ -237,10 +240,11 @@ private PluginDescriptor extractPluginDescriptor(Artifact pluginArtifact, Plugin
                     ZipEntry pluginDescriptorEntry = pluginJar.getEntry(getPluginDescriptorLocation());
 
                     if (pluginDescriptorEntry != null) {
-                        pluginDescriptor = parsePluginDescriptor(
-                                () -> pluginJar.getInputStream(pluginDescriptorEntry),
-                                plugin,
-                                pluginFile.getAbsolutePath());
+                        byte[] xml;
+                        try (InputStream is = pluginJar.getInputStream(pluginDescriptorEntry)) {
+                            xml = is.readAllBytes();
+                        }
+                        pluginDescriptor = parsePluginDescriptor(xml, plugin, pluginFile.getAbsolutePath(), session);
                     }
                 }
             } else {
@@ -248,7 +252,7 @@ private PluginDescriptor extractPluginDescriptor(Artifact pluginArtifact, Plugin
 
                 if (pluginXml.isFile()) {
                     pluginDescriptor = parsePluginDescriptor(
-                            () -> Files.newInputStream(pluginXml.toPath()), plugin, pluginXml.getAbsolutePath());
+                            Files.readAllBytes(pluginXml.toPath()), plugin, pluginXml.getAbsolutePath(), session);
                 }
             }
 
@@ -277,10 +281,10 @@ private String getPluginDescriptorLocation() {
     }
 
     private PluginDescriptor parsePluginDescriptor(
-            PluginDescriptorBuilder.StreamSupplier is, Plugin plugin, String descriptorLocation)
+            byte[] xml, Plugin plugin, String descriptorLocation, RepositorySystemSession session)
             throws PluginDescriptorParsingException {
         try {
-            return builder.build(is, descriptorLocation);
+            return pluginDescriptorIndex.build(xml, descriptorLocation, session);
         } catch (PlexusConfigurationException e) {
             throw new PluginDescriptorParsingException(plugin, descriptorLocation, e);
         }
@@ -997,7 +1001,7 @@ public ExtensionRealmCache.CacheRecord setupExtensionsRealm(
                 // ignore plugin descriptor parsing errors at this point
                 // these errors will reported during calculation of project build execution plan
                 try {
-                    pluginDescriptor = extractPluginDescriptor(artifacts.get(0), plugin);
+                    pluginDescriptor = extractPluginDescriptor(artifacts.get(0), plugin, session);
                 } catch (PluginDescriptorParsingException | InvalidPluginDescriptorException e) {
                     // ignore, see above
                 }
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugin.internal;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.api.Constants;
+import org.apache.maven.api.xml.XmlNode;
+import org.apache.maven.internal.xml.XmlNodeStaxBuilder;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptorBuilder;
+import org.apache.maven.plugin.descriptor.io.PluginDescriptorBinaryReader;
+import org.apache.maven.plugin.descriptor.io.PluginDescriptorBinaryWriter;
+import org.apache.maven.plugin.descriptor.io.PluginDescriptorStaxReader;
+import org.codehaus.plexus.configuration.PlexusConfigurationException;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.util.ConfigUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the parsed content of the {@code plugin.xml} files read so far, keyed by the checksum of the file, so that a
+ * descriptor is parsed once however many times it is extracted from its plugin, be it for another set of repositories,
+ * for an extension realm or in another session of the same container.
+ * <p>
+ * The parsed content is immutable: the v4 descriptor for {@value PluginDescriptorBuilder#PLUGIN_2_0_0} descriptors,
+ * the XML tree otherwise. Each extraction builds a new {@link PluginDescriptor} from it. When
+ * {@link Constants#MAVEN_PLUGIN_DESCRIPTOR_CACHE_PERSISTENT} is enabled, the v4 descriptors are also stored in the
+ * local repository, in the binary format of {@link PluginDescriptorBinaryWriter}, and later builds do not parse them
+ * at all. Other descriptors are only kept in memory: reading a stored XML tree would cost as much as parsing the file
+ * again.
+ */
+class PluginDescriptorIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PluginDescriptorIndex.class);
+
+    /**
+     * Version of the entry format, to be increased whenever the layout of the entries changes.
+     */
+    private static final int FORMAT = 2;
+
+    private static final XMLInputFactory FACTORY =
+            XMLInputFactory.newFactory(XMLInputFactory.class.getName(), PluginDescriptorIndex.class.getClassLoader());
+
+    private final PluginDescriptorBuilder builder;
+
+    private final Map<String, Descriptor> descriptors = new ConcurrentHashMap<>();
+
+    PluginDescriptorIndex(PluginDescriptorBuilder builder) {
+        this.builder = builder;
+    }
+
+    /**
+     * Builds the plugin descriptor from the content of a {@code plugin.xml} file.
+     *
+     * @param xml the content of the descriptor
+     * @param source the location of the descriptor
+     * @param session the session, used to locate the persistent index
+     */
+    PluginDescriptor build(byte[] xml, String source, RepositorySystemSession session)
+            throws PlexusConfigurationException {
+        String checksum = checksum(xml);
+        Descriptor descriptor = descriptors.get(checksum);
+        if (descriptor == null) {
+            Path file = getEntryPath(session, checksum);
+            descriptor = file != null ? read(file) : null;
+            if (descriptor == null) {
+                descriptor = parse(xml);
+                if (file != null && descriptor.v4() != null) {
+                    write(file, descriptor.v4());
+                }
+            }
+            descriptors.putIfAbsent(checksum, descriptor);
+        }
+        if (descriptor.v4() != null) {
+            return new PluginDescriptor(descriptor.v4());
+        }
+        return builder.build(descriptor.xml(), source);
+    }
+
+    private static Descriptor parse(byte[] xml) throws PlexusConfigurationException {
+        try {
+            // only the root element is needed to tell which parser the descriptor is for
+            XMLStreamReader xsr = FACTORY.createXMLStreamReader(new ByteArrayInputStream(xml));
+            xsr.nextTag();
+            if (PluginDescriptorBuilder.PLUGIN_2_0_0.equals(xsr.getNamespaceURI())) {
+                xsr.close();
+                return new Descriptor(new PluginDescriptorStaxReader().read(new ByteArrayInputStream(xml), true), null);
+            }
+            return new Descriptor(null, XmlNodeStaxBuilder.build(xsr));
+        } catch (XMLStreamException e) {
+            throw new PlexusConfigurationException(e.getMessage(), e);
+        }
+    }
+
+    private static Path getEntryPath(RepositorySystemSession session, String checksum) {
+        if (session == null
+                || session.getLocalRepository() == null
+                || !ConfigUtils.getBoolean(session, false, Constants.MAVEN_PLUGIN_DESCRIPTOR_CACHE_PERSISTENT)) {
+            return null;
+        }
+        return session.getLocalRepository()
+                .getBasePath()
+                .resolve(".cache/plugins")
+                .resolve(checksum.substring(0, 2))
+                .resolve(checksum);
+    }
+
+    private static Descriptor read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FORMAT) {
+                return null;
+            }
+            return new Descriptor(new PluginDescriptorBinaryReader().read(in), null);
+        } catch (IOException | IndexOutOfBoundsException e) {
+            LOGGER.debug("Unable to read plugin descriptor index entry {}", file, e);
+            return null;
+        }
+    }
+
+    private static void write(Path file, org.apache.maven.api.plugin.descriptor.PluginDescriptor descriptor) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out =
+                        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                    out.writeInt(FORMAT);
+                    new PluginDescriptorBinaryWriter().write(out, descriptor);
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Unable to write plugin descriptor index entry {}", file, e);
+        }
+    }
+
+    private static String checksum(byte[] xml) {
+        try {
+            byte[] bytes = MessageDigest.getInstance("SHA-256").digest(xml);
+            StringBuilder sb = new StringBuilder(bytes.length * 2);
+            for (byte b : bytes) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The parsed content of a descriptor: exactly one of the two is set.
+     */
+    private record Descriptor(org.apache.maven.api.plugin.descriptor.PluginDescriptor v4, XmlNode xml) {}
+}
@@ -39,6 +39,7 @@
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -46,6 +47,7 @@
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -90,6 +92,7 @@
 import org.apache.maven.artifact.InvalidRepositoryException;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.bridge.MavenRepositorySystem;
+import org.apache.maven.internal.VirtualThreads;
 import org.apache.maven.internal.impl.InternalSession;
 import org.apache.maven.internal.impl.resolver.DefaultModelCache;
 import org.apache.maven.internal.impl.resolver.DefaultModelRepositoryHolder;
@@ -298,6 +301,80 @@ static class InterimResult {
         }
     }
 
+    /**
+     * Returns an executor running the tasks of the given one, which starts a thread per task, at most
+     * {@code parallelism} at a time. A task waiting for its subtasks in {@code invokeAll} does not count towards that
+     * bound, so that they can run.
+     * <p>
+     * Visible for testing.
+     */
+    static ExecutorService createBoundedExecutor(ExecutorService executor, int parallelism) {
+        //
+        // Virtual threads do not need the parked workaround of createExecutor: a task blocked in invokeAll
+        // does not hold a platform thread. The number of running tasks is still bounded by the parallelism
+        // though: each task holds a permit while it runs, and gives it back while it waits for its subtasks
+        // in invokeAll.
+        //
+        Semaphore permits = new Semaphore(parallelism);
+        Set<Thread> running = ConcurrentHashMap.newKeySet();
+        return new AbstractExecutorService() {
+            @Override
+            public void execute(Runnable command) {
+                executor.execute(() -> {
+                    permits.acquireUninterruptibly();
+                    running.add(Thread.currentThread());
+                    try {
+                        command.run();
+                    } finally {
+                        running.remove(Thread.currentThread());
+                        permits.release();
+                    }
+                });
+            }
+
+            @Override
+            public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+                boolean parked = running.remove(Thread.currentThread());
+                if (parked) {
+                    permits.release();
+                }
+                try {
+                    return super.invokeAll(tasks);
+                } finally {
+                    if (parked) {
+                        permits.acquireUninterruptibly();
+                        running.add(Thread.currentThread());
+                    }
+                }
+            }
+
+            @Override
+            public void shutdown() {
+                executor.shutdown();
+            }
+
+            @Override
+            public List<Runnable> shutdownNow() {
+                return executor.shutdownNow();
+            }
+
+            @Override
+            public boolean isShutdown() {
+                return executor.isShutdown();
+            }
+
+            @Override
+            public boolean isTerminated() {
+                return executor.isTerminated();
+            }
+
+            @Override
+            public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+                return executor.awaitTermination(timeout, unit);
+            }
+        };
+    }
+
     class BuildSession implements AutoCloseable {
         private final ProjectBuildingRequest request;
         private final RepositorySystemSession session;
@@ -315,7 +392,10 @@ class BuildSession implements AutoCloseable {
                     RepositoryUtils.overlay(request.getLocalRepository(), request.getRepositorySession(), repoSystem);
             InternalSession.from(session);
             this.repositories = RepositoryUtils.toRepos(request.getRemoteRepositories());
-            this.executor = createExecutor(getParallelism(request));
+            this.executor = isVirtualThreads(request)
+                    ? createBoundedExecutor(
+                            VirtualThreads.newThreadPerTaskExecutor("ProjectBuilderThread-"), getParallelism(request))
+                    : createExecutor(getParallelism(request));
             if (localProjects) {
                 this.modelPool = new ReactorModelPool();
                 this.transformerContextBuilder = modelBuilder.newTransformerContextBuilder();
@@ -378,6 +458,31 @@ public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks)
         @Override
         public void close() {
             this.executor.shutdownNow();
+            if (modelCache instanceof DefaultModelCache cache) {
+                logger.debug(
+                        "Model cache: {} entries, {} hits, {} misses, {} evictions",
+                        cache.size(),
+                        cache.getHitCount(),
+                        cache.getMissCount(),
+                        cache.getEvictionCount());
+            }
+        }
+
+        private boolean isVirtualThreads(ProjectBuildingRequest request) {
+            String str = request.getUserProperties().getProperty(Constants.MAVEN_VIRTUAL_THREADS);
+            if (str == null) {
+                str = request.getSystemProperties().getProperty(Constants.MAVEN_VIRTUAL_THREADS);
+            }
+            if (!Boolean.parseBoolean(str)) {
+                return false;
+            }
+            if (!VirtualThreads.isSupported()) {
+                logger.warn(
+                        "Property {} is set but virtual threads require Java 21 or later, using platform threads",
+                        Constants.MAVEN_VIRTUAL_THREADS);
+                return false;
+            }
+            return true;
         }
 
         private int getParallelism(ProjectBuildingRequest request) {
@@ -413,7 +518,7 @@ ProjectBuildingResult build(Path pomFile, ModelSource modelSource) throws Projec
                     ModelBuilderRequest request = builder.projectBuild(modelPool != null)
                             .source(modelSource)
                             .projectBuild(true)
-                            .locationTracking(true)
+                            .locationTracking(Features.locationTracking(this.request.getUserProperties()))
                             .listener(listener)
                             .build();
 
@@ -598,7 +703,7 @@ private InterimResult build(
                     .source(ModelSource.fromPath(pomFile.toPath()))
                     .projectBuild(true)
                     .twoPhaseBuilding(true)
-                    .locationTracking(true)
+                    .locationTracking(Features.locationTracking(request.getUserProperties()))
                     .listener(listener)
                     .build();
 
@@ -40,6 +40,10 @@
  */
 public class ExtensionDescriptorBuilder {
 
+    /** Shared by all builds: looking up a factory for each descriptor is costly and factories are thread-safe. */
+    private static final XMLInputFactory FACTORY = XMLInputFactory.newFactory(
+            XMLInputFactory.class.getName(), ExtensionDescriptorBuilder.class.getClassLoader());
+
     /**
      * @since 3.3.0
      */
@@ -88,7 +92,7 @@ public ExtensionDescriptor build(InputStream is) throws IOException {
 
         XmlNode dom;
         try {
-            XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(is);
+            XMLStreamReader reader = FACTORY.createXMLStreamReader(is);
             dom = XmlNodeStaxBuilder.build(reader);
         } catch (XMLStreamException e) {
             throw new IOException(e.getMessage(), e);
@@ -18,103 +18,353 @@
  */
 package org.apache.maven.project;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * A directed graph whose vertices are indexed by their insertion order, with their edges kept in int arrays.
+ * <p>
+ * Edges can either be added one at a time with {@link #addEdge(Vertex, Vertex)}, which checks for a cycle after
+ * each of them, or be queued with {@link #addPendingEdge(Vertex, Vertex, boolean, boolean)} and then linked at once
+ * with {@link #linkPendingEdges()}, which only looks for cycles within the strongly connected components of the
+ * whole graph, found with Tarjan's algorithm.
+ */
 class Graph {
-    private enum DfsState {
-        VISITING,
-        VISITED
-    }
+    private static final int[] EMPTY = new int[0];
+
+    private static final byte UNVISITED = 0;
+
+    private static final byte VISITING = 1;
+
+    private static final byte VISITED = 2;
+
+    private static final byte FORCE = 1;
+
+    private static final byte SAFE = 2;
+
+    private final Map<String, Vertex> vertexIndex = new HashMap<>();
 
-    final Map<String, Vertex> vertices = new LinkedHashMap<>();
+    private final List<Vertex> vertices = new ArrayList<>();
+
+    private int[] pendingFrom = EMPTY;
+
+    private int[] pendingTo = EMPTY;
+
+    private byte[] pendingFlags = new byte[0];
+
+    private int pendingCount;
 
     public Vertex getVertex(String id) {
-        return vertices.get(id);
+        return vertexIndex.get(id);
     }
 
     public Collection<Vertex> getVertices() {
-        return vertices.values();
+        return Collections.unmodifiableList(vertices);
     }
 
     Vertex addVertex(String label) {
-        return vertices.computeIfAbsent(label, Vertex::new);
+        return vertexIndex.computeIfAbsent(label, l -> {
+            Vertex vertex = new Vertex(l, vertices.size());
+            vertices.add(vertex);
+            return vertex;
+        });
     }
 
     void addEdge(Vertex from, Vertex to) throws CycleDetectedException {
-        from.children.add(to);
-        to.parents.add(from);
-        List<String> cycle = findCycle(to);
+        link(from, to);
+        List<String> cycle = findCycle(to.index, null);
         if (cycle != null) {
             // remove edge which introduced cycle
             removeEdge(from, to);
-            throw new CycleDetectedException(
-                    "Edge between '" + from.label + "' and '" + to.label + "' introduces to cycle in the graph", cycle);
+            throw cycleDetected(from, to, cycle);
         }
     }
 
     void removeEdge(Vertex from, Vertex to) {
-        from.children.remove(to);
-        to.parents.remove(from);
+        from.childCount = remove(from.children, from.childCount, to.index);
+        to.parentCount = remove(to.parents, to.parentCount, from.index);
     }
 
-    List<String> visitAll() {
-        return visitAll(vertices.values(), new HashMap<>(), new ArrayList<>());
+    /**
+     * Queues an edge, to be added by {@link #linkPendingEdges()}.
+     *
+     * @param from the source vertex
+     * @param to the target vertex
+     * @param force whether an edge from {@code to} to {@code from} should be removed to add this one
+     * @param safe whether this edge should be dropped instead of failing when it introduces a cycle
+     */
+    void addPendingEdge(Vertex from, Vertex to, boolean force, boolean safe) {
+        if (pendingCount == pendingFrom.length) {
+            int capacity = Math.max(16, pendingCount * 2);
+            pendingFrom = Arrays.copyOf(pendingFrom, capacity);
+            pendingTo = Arrays.copyOf(pendingTo, capacity);
+            pendingFlags = Arrays.copyOf(pendingFlags, capacity);
+        }
+        pendingFrom[pendingCount] = from.index;
+        pendingTo[pendingCount] = to.index;
+        pendingFlags[pendingCount] = (byte) ((force ? FORCE : 0) | (safe ? SAFE : 0));
+        pendingCount++;
     }
 
-    List<String> findCycle(Vertex vertex) {
-        return visitCycle(Collections.singleton(vertex), new HashMap<>(), new LinkedList<>());
+    /**
+     * Adds the pending edges in the order they have been queued, with the same outcome as adding them one at a time
+     * with {@link #addEdge(Vertex, Vertex)}: an edge introducing a cycle is dropped if it is safe, otherwise a
+     * {@link CycleDetectedException} is thrown for it. As a cycle can only go through vertices of the same strongly
+     * connected component of the graph including all the pending edges, only the edges within such a component
+     * need to be checked, and only against the vertices of that component.
+     *
+     * @throws CycleDetectedException if a pending edge which is not safe introduces a cycle
+     */
+    void linkPendingEdges() throws CycleDetectedException {
+        int[] components = findComponents();
+        try {
+            for (int i = 0; i < pendingCount; i++) {
+                Vertex from = vertices.get(pendingFrom[i]);
+                Vertex to = vertices.get(pendingTo[i]);
+                if ((pendingFlags[i] & FORCE) != 0 && indexOf(to.children, to.childCount, from.index) >= 0) {
+                    removeEdge(to, from);
+                }
+                link(from, to);
+                if (components[from.index] >= 0 && components[from.index] == components[to.index]) {
+                    List<String> cycle = findCycle(to.index, components);
+                    if (cycle != null) {
+                        removeEdge(from, to);
+                        if ((pendingFlags[i] & SAFE) == 0) {
+                            throw cycleDetected(from, to, cycle);
+                        }
+                    }
+                }
+            }
+        } finally {
+            pendingCount = 0;
+        }
     }
 
-    private static List<String> visitAll(
-            Collection<Vertex> children, Map<Vertex, DfsState> stateMap, List<String> list) {
-        for (Vertex v : children) {
-            DfsState state = stateMap.putIfAbsent(v, DfsState.VISITING);
-            if (state == null) {
-                visitAll(v.children, stateMap, list);
-                stateMap.put(v, DfsState.VISITED);
-                list.add(v.label);
+    List<String> visitAll() {
+        int size = vertices.size();
+        List<String> list = new ArrayList<>(size);
+        byte[] states = new byte[size];
+        int[] path = new int[size];
+        int[] next = new int[size];
+        for (Vertex root : vertices) {
+            if (states[root.index] != UNVISITED) {
+                continue;
+            }
+            states[root.index] = VISITING;
+            path[0] = root.index;
+            next[0] = 0;
+            int depth = 1;
+            while (depth > 0) {
+                Vertex v = vertices.get(path[depth - 1]);
+                if (next[depth - 1] < v.childCount) {
+                    int child = v.children[next[depth - 1]++];
+                    if (states[child] == UNVISITED) {
+                        states[child] = VISITING;
+                        path[depth] = child;
+                        next[depth] = 0;
+                        depth++;
+                    }
+                } else {
+                    states[v.index] = VISITED;
+                    list.add(v.label);
+                    depth--;
+                }
             }
         }
         return list;
     }
 
-    private static List<String> visitCycle(
-            Collection<Vertex> children, Map<Vertex, DfsState> stateMap, LinkedList<String> cycle) {
-        for (Vertex v : children) {
-            DfsState state = stateMap.putIfAbsent(v, DfsState.VISITING);
-            if (state == null) {
-                cycle.addLast(v.label);
-                List<String> ret = visitCycle(v.children, stateMap, cycle);
-                if (ret != null) {
-                    return ret;
+    List<String> findCycle(Vertex vertex) {
+        return findCycle(vertex.index, null);
+    }
+
+    /**
+     * Looks for a cycle going through the given vertex with a depth-first search, only visiting the vertices of
+     * the same component if components are given.
+     */
+    private List<String> findCycle(int start, int[] components) {
+        int size = vertices.size();
+        byte[] states = new byte[size];
+        int[] path = new int[size];
+        int[] next = new int[size];
+        states[start] = VISITING;
+        path[0] = start;
+        int depth = 1;
+        while (depth > 0) {
+            Vertex v = vertices.get(path[depth - 1]);
+            if (next[depth - 1] < v.childCount) {
+                int child = v.children[next[depth - 1]++];
+                if (components != null && components[child] != components[start]) {
+                    continue;
+                }
+                if (states[child] == UNVISITED) {
+                    states[child] = VISITING;
+                    path[depth] = child;
+                    next[depth] = 0;
+                    depth++;
+                } else if (states[child] == VISITING) {
+                    // we are already visiting this vertex, this mean we have a cycle
+                    int pos = indexOf(path, depth, child);
+                    List<String> cycle = new ArrayList<>(depth - pos + 1);
+                    for (int i = pos; i < depth; i++) {
+                        cycle.add(vertices.get(path[i]).label);
+                    }
+                    cycle.add(vertices.get(child).label);
+                    return cycle;
                 }
-                cycle.removeLast();
-                stateMap.put(v, DfsState.VISITED);
-            } else if (state == DfsState.VISITING) {
-                // we are already visiting this vertex, this mean we have a cycle
-                int pos = cycle.lastIndexOf(v.label);
-                List<String> ret = cycle.subList(pos, cycle.size());
-                ret.add(v.label);
-                return ret;
+            } else {
+                states[v.index] = VISITED;
+                depth--;
             }
         }
         return null;
     }
 
-    static class Vertex {
-        final String label;
-        final List<Vertex> children = new ArrayList<>();
-        final List<Vertex> parents = new ArrayList<>();
+    /**
+     * Computes the strongly connected components of the graph made of the current and pending edges, with an
+     * iterative version of Tarjan's algorithm.
+     *
+     * @return the component of each vertex, or {@code -1} for the vertices which are alone in their component
+     */
+    private int[] findComponents() {
+        int size = vertices.size();
+        // adjacency of the current and pending edges, in compressed rows
+        int[] offsets = new int[size + 1];
+        for (Vertex v : vertices) {
+            offsets[v.index + 1] += v.childCount;
+        }
+        for (int i = 0; i < pendingCount; i++) {
+            offsets[pendingFrom[i] + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] targets = new int[offsets[size]];
+        int[] fill = Arrays.copyOf(offsets, size);
+        for (Vertex v : vertices) {
+            System.arraycopy(v.children, 0, targets, fill[v.index], v.childCount);
+            fill[v.index] += v.childCount;
+        }
+        for (int i = 0; i < pendingCount; i++) {
+            targets[fill[pendingFrom[i]]++] = pendingTo[i];
+        }
+
+        int[] components = new int[size];
+        int[] indexes = new int[size];
+        int[] lowLinks = new int[size];
+        boolean[] onStack = new boolean[size];
+        int[] stack = new int[size];
+        int[] callStack = new int[size];
+        int[] next = new int[size];
+        Arrays.fill(indexes, -1);
+        int index = 0;
+        int stackSize = 0;
+        int componentCount = 0;
+        for (int root = 0; root < size; root++) {
+            if (indexes[root] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            callStack[depth++] = root;
+            indexes[root] = index;
+            lowLinks[root] = index++;
+            next[root] = offsets[root];
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            while (depth > 0) {
+                int v = callStack[depth - 1];
+                if (next[v] < offsets[v + 1]) {
+                    int w = targets[next[v]++];
+                    if (indexes[w] < 0) {
+                        indexes[w] = index;
+                        lowLinks[w] = index++;
+                        next[w] = offsets[w];
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        callStack[depth++] = w;
+                    } else if (onStack[w]) {
+                        lowLinks[v] = Math.min(lowLinks[v], indexes[w]);
+                    }
+                } else {
+                    depth--;
+                    if (depth > 0) {
+                        int parent = callStack[depth - 1];
+                        lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[v]);
+                    }
+                    if (lowLinks[v] == indexes[v]) {
+                        int w = stack[--stackSize];
+                        onStack[w] = false;
+                        if (w == v) {
+                            components[v] = -1;
+                        } else {
+                            components[w] = componentCount;
+                            do {
+                                w = stack[--stackSize];
+                                onStack[w] = false;
+                                components[w] = componentCount;
+                            } while (w != v);
+                            componentCount++;
+                        }
+                    }
+                }
+            }
+        }
+        return components;
+    }
+
+    private void link(Vertex from, Vertex to) {
+        from.children = append(from.children, from.childCount++, to.index);
+        to.parents = append(to.parents, to.parentCount++, from.index);
+    }
+
+    private static CycleDetectedException cycleDetected(Vertex from, Vertex to, List<String> cycle) {
+        return new CycleDetectedException(
+                "Edge between '" + from.label + "' and '" + to.label + "' introduces to cycle in the graph", cycle);
+    }
+
+    private static int[] append(int[] array, int count, int value) {
+        if (count == array.length) {
+            array = Arrays.copyOf(array, Math.max(4, count * 2));
+        }
+        array[count] = value;
+        return array;
+    }
+
+    private static int indexOf(int[] array, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int remove(int[] array, int count, int value) {
+        int i = indexOf(array, count, value);
+        if (i < 0) {
+            return count;
+        }
+        System.arraycopy(array, i + 1, array, i, count - i - 1);
+        return count - 1;
+    }
+
+    final class Vertex {
+        private final String label;
+        private final int index;
+        private int[] children = EMPTY;
+        private int childCount;
+        private int[] parents = EMPTY;
+        private int parentCount;
 
-        Vertex(String label) {
+        Vertex(String label, int index) {
             this.label = label;
+            this.index = index;
         }
 
         String getLabel() {
@@ -122,11 +372,26 @@ String getLabel() {
         }
 
         List<Vertex> getChildren() {
-            return children;
+            return toVertices(children, childCount);
         }
 
         List<Vertex> getParents() {
-            return parents;
+            return toVertices(parents, parentCount);
+        }
+
+        private List<Vertex> toVertices(int[] indexes, int count) {
+            int[] snapshot = Arrays.copyOf(indexes, count);
+            return new AbstractList<>() {
+                @Override
+                public Vertex get(int i) {
+                    return vertices.get(snapshot[i]);
+                }
+
+                @Override
+                public int size() {
+                    return snapshot.length;
+                }
+            };
         }
     }
 }
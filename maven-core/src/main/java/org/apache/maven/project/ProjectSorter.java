@@ -173,6 +173,8 @@ public ProjectSorter(Collection<MavenProject> projects) throws CycleDetectedExce
             }
         }
 
+        graph.linkPendingEdges();
+
         List<String> sortedProjectLabels = graph.visitAll();
 
         this.sortedProjects = sortedProjectLabels.stream()
@@ -190,8 +192,7 @@ private void addEdge(
             String artifactId,
             String version,
             boolean force,
-            boolean safe)
-            throws CycleDetectedException {
+            boolean safe) {
         String projectKey = ArtifactUtils.versionlessKey(groupId, artifactId);
 
         Map<String, Vertex> vertices = vertexMap.get(projectKey);
@@ -216,8 +217,7 @@ private void addEdge(
             MavenProject fromProject,
             Map<String, MavenProject> projectMap,
             boolean force,
-            boolean safe)
-            throws CycleDetectedException {
+            boolean safe) {
         if (fromVertex.equals(toVertex)) {
             return;
         }
@@ -227,17 +227,8 @@ private void addEdge(
             fromProject.addProjectReference(toProject);
         }
 
-        if (force && toVertex.getChildren().contains(fromVertex)) {
-            graph.removeEdge(toVertex, fromVertex);
-        }
-
-        try {
-            graph.addEdge(fromVertex, toVertex);
-        } catch (CycleDetectedException e) {
-            if (!safe) {
-                throw e;
-            }
-        }
+        // edges are linked all at once, cycles are then only looked for where they can occur
+        graph.addPendingEdge(fromVertex, toVertex, force, safe);
     }
 
     private boolean isSpecificVersion(String version) {
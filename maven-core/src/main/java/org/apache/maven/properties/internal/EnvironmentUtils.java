@@ -59,4 +59,23 @@ public static void addEnvVars(Properties props) {
             props.putAll(envVars);
         }
     }
+
+    /**
+     * Adds the given environment variables in the form of properties, like {@link #addEnvVars(Properties)} does for
+     * the environment of the current process.
+     *
+     * @param props The properties to add the environment variables to, may be {@code null}.
+     * @param environment The environment variables to add, must not be {@code null}.
+     * @since 4.0.0
+     */
+    public static void addEnvVars(Properties props, Map<String, String> environment) {
+        if (props != null) {
+            boolean caseSensitive = !Os.IS_WINDOWS;
+            for (Map.Entry<String, String> entry : environment.entrySet()) {
+                String key = "env."
+                        + (caseSensitive ? entry.getKey() : entry.getKey().toUpperCase(Locale.ENGLISH));
+                props.setProperty(key, entry.getValue());
+            }
+        }
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactorReaderTest {
+
+    @TempDir
+    Path outputDirectory;
+
+    private ReactorReader reactorReader;
+
+    private ReactorReader.ReactorReaderSpy spy;
+
+    private MavenProject project;
+
+    @BeforeEach
+    void setup() {
+        reactorReader = new ReactorReader(mock(MavenSession.class));
+        spy = new ReactorReader.ReactorReaderSpy(new SimpleLookup(List.of(reactorReader)));
+        Model model = new Model();
+        model.setGroupId("org.apache.maven.test");
+        model.setArtifactId("project");
+        model.setVersion("1.0");
+        model.setBuild(new Build());
+        model.getBuild().setOutputDirectory(outputDirectory.toString());
+        project = new MavenProject(model);
+    }
+
+    @Test
+    void testOutputSnapshotIsReused() throws Exception {
+        Path oldFile = createFile("Old.class", 1000);
+        ReactorReader.OutputSnapshot snapshot = reactorReader.getOutputSnapshot(project);
+        assertEquals(oldFile, snapshot.newestFile());
+
+        createFile("New.class", 2000);
+
+        assertSame(snapshot, reactorReader.getOutputSnapshot(project));
+    }
+
+    @Test
+    void testOutputSnapshotIsDiscardedWhenMojoStarts() throws Exception {
+        createFile("Old.class", 1000);
+        reactorReader.getOutputSnapshot(project);
+        Path newFile = createFile("New.class", 2000);
+
+        MojoExecution mojoExecution = mock(MojoExecution.class);
+        spy.onEvent(event(ExecutionEvent.Type.MojoStarted, mojoExecution));
+
+        assertEquals(newFile, reactorReader.getOutputSnapshot(project).newestFile());
+    }
+
+    @Test
+    void testOutputSnapshotIsDiscardedWhenMojoEnds() throws Exception {
+        createFile("Old.class", 1000);
+        reactorReader.getOutputSnapshot(project);
+        Path newFile = createFile("New.class", 2000);
+
+        MojoExecution mojoExecution = mock(MojoExecution.class);
+        spy.onEvent(event(ExecutionEvent.Type.MojoSucceeded, mojoExecution));
+
+        assertEquals(newFile, reactorReader.getOutputSnapshot(project).newestFile());
+
+        Path newerFile = createFile("Newer.class", 3000);
+        spy.onEvent(event(ExecutionEvent.Type.MojoFailed, mojoExecution));
+
+        assertEquals(newerFile, reactorReader.getOutputSnapshot(project).newestFile());
+    }
+
+    @Test
+    void testOutputSnapshotIsDiscardedWhenProjectSucceeds() throws Exception {
+        createFile("Old.class", 1000);
+        reactorReader.getOutputSnapshot(project);
+        Path newFile = createFile("New.class", 2000);
+
+        spy.onEvent(event(ExecutionEvent.Type.ProjectSucceeded, null));
+
+        assertEquals(newFile, reactorReader.getOutputSnapshot(project).newestFile());
+    }
+
+    @Test
+    void testOutputSnapshotOfMissingDirectoryIsEmpty() throws Exception {
+        Files.delete(outputDirectory);
+
+        assertNull(reactorReader.getOutputSnapshot(project).newestFile());
+    }
+
+    private Path createFile(String name, long lastModified) throws IOException {
+        Path file = Files.createFile(outputDirectory.resolve(name));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified));
+        return file;
+    }
+
+    private ExecutionEvent event(ExecutionEvent.Type type, MojoExecution mojoExecution) {
+        ExecutionEvent event = mock(ExecutionEvent.class);
+        when(event.getType()).thenReturn(type);
+        when(event.getProject()).thenReturn(project);
+        when(event.getMojoExecution()).thenReturn(mojoExecution);
+        return event;
+    }
+}
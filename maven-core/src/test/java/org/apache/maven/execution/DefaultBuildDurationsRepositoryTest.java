@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.execution;
+
+import java.nio.file.Path;
+import java.util.Properties;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class DefaultBuildDurationsRepositoryTest {
+    private final DefaultBuildDurationsRepository repository = new DefaultBuildDurationsRepository();
+
+    @Test
+    void recordedDurationsAreSmoothed() {
+        MavenProject project = project("module-a");
+        BuildDurations buildDurations = new BuildDurations();
+        assertThat(buildDurations.getProjectDuration(project), is(-1L));
+
+        buildDurations.recordProjectDuration(project, 1000);
+        assertThat(buildDurations.getProjectDuration(project), is(1000L));
+
+        buildDurations.recordProjectDuration(project, 3000);
+        assertThat(buildDurations.getProjectDuration(project), is(2000L));
+    }
+
+    @Test
+    void propertiesRoundTrip() {
+        BuildDurations buildDurations = new BuildDurations();
+        buildDurations.recordProjectDuration(project("module-a"), 1234);
+
+        Properties properties = repository.convertToProperties(buildDurations);
+        assertThat(properties.getProperty("project.org.example:module-a"), is("1234"));
+
+        BuildDurations loaded = new BuildDurations();
+        repository.applyProperties(loaded, properties);
+        assertThat(loaded.getProjectDuration(project("module-a")), is(1234L));
+    }
+
+    @Test
+    void malformedDurationsAreIgnored() {
+        Properties properties = new Properties();
+        properties.setProperty("project.org.example:module-a", "not-a-number");
+
+        BuildDurations loaded = new BuildDurations();
+        repository.applyProperties(loaded, properties);
+        assertThat(loaded.getProjectDuration(project("module-a")), is(-1L));
+    }
+
+    @Test
+    void durationsArePersistedInBuildDirectory(@TempDir Path target) {
+        MavenProject rootProject = project("root");
+        Build build = new Build();
+        build.setDirectory(target.toString());
+        rootProject.setBuild(build);
+
+        assertThat(repository.load(rootProject).getProjectDurations().isEmpty(), is(true));
+
+        BuildDurations buildDurations = new BuildDurations();
+        buildDurations.recordProjectDuration(project("module-a"), 42);
+        repository.persist(rootProject, buildDurations);
+
+        assertThat(repository.load(rootProject).getProjectDuration(project("module-a")), is(42L));
+    }
+
+    private static MavenProject project(String artifactId) {
+        MavenProject project = new MavenProject();
+        project.setGroupId("org.example");
+        project.setArtifactId(artifactId);
+        return project;
+    }
+}
@@ -129,6 +129,30 @@ void testGetUpstreamProjects() throws CycleDetectedException, DuplicateProjectEx
         assertEquals(aProject, downstreamProjects.get(0));
     }
 
+    @Test
+    void testGetTransitiveUpstreamProjects() throws CycleDetectedException, DuplicateProjectException {
+        final ProjectDependencyGraph graph = new DefaultProjectDependencyGraph(
+                Arrays.asList(depender1, transitiveOnly, depender2, depender4, depender3, aProject));
+
+        assertEquals(Arrays.asList(aProject, depender3), graph.getUpstreamProjects(depender4, false));
+        assertEquals(Arrays.asList(aProject, depender3), graph.getUpstreamProjects(transitiveOnly, true));
+        assertEquals(Arrays.asList(depender3), graph.getUpstreamProjects(transitiveOnly, false));
+    }
+
+    @Test
+    void testFilteredGraph() throws CycleDetectedException, DuplicateProjectException {
+        final ProjectDependencyGraph graph = new FilteredProjectDependencyGraph(
+                new DefaultProjectDependencyGraph(
+                        Arrays.asList(depender1, transitiveOnly, depender2, depender3, aProject)),
+                Arrays.asList(depender1, transitiveOnly, depender2, aProject));
+
+        assertEquals(Arrays.asList(aProject, depender1, transitiveOnly, depender2), graph.getSortedProjects());
+        // transitive projects are still found through the projects which are filtered out
+        assertEquals(Arrays.asList(depender1, transitiveOnly, depender2), graph.getDownstreamProjects(aProject, true));
+        assertEquals(Arrays.asList(depender1, depender2), graph.getDownstreamProjects(aProject, false));
+        assertEquals(Arrays.asList(aProject), graph.getUpstreamProjects(transitiveOnly, true));
+    }
+
     private ProjectDependencyGraph threeProjectsDependingOnASingle()
             throws CycleDetectedException, DuplicateProjectException {
         return new DefaultProjectDependencyGraph(Arrays.asList(depender1, depender2, depender3, aProject));
@@ -22,6 +22,9 @@
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -35,6 +38,7 @@
 import org.eclipse.aether.internal.impl.checksum.Sha512ChecksumAlgorithmFactory;
 import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -97,4 +101,54 @@ void calculateStream() throws IOException {
         assertEquals("a94a8fe5ccb19ba61c4c0873d391e987982fbbd3", checksums.get(service.select("SHA-1")));
         assertEquals("098f6bcd4621d373cade4e832627b4f6", checksums.get(service.select("MD5")));
     }
+
+    @Test
+    void calculateLargeFile(@TempDir Path dir) throws IOException {
+        byte[] data = new byte[(int) DefaultChecksumAlgorithmService.MAPPED_THRESHOLD * 3 + 17];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31 + (i >> 8));
+        }
+        Path file = Files.write(dir.resolve("large.bin"), data);
+        Collection<ChecksumAlgorithmService.ChecksumAlgorithm> algorithms =
+                service.select(Arrays.asList("SHA-1", "SHA-256", "SHA-512", "MD5"));
+
+        Map<ChecksumAlgorithmService.ChecksumAlgorithm, String> checksums = service.calculate(file, algorithms);
+
+        assertEquals(service.calculate(data, algorithms), checksums);
+    }
+
+    @Test
+    void calculateFileWithCache(@TempDir Path dir) throws IOException {
+        Path cache = dir.resolve("cache");
+        Path file = Files.write(dir.resolve("file.txt"), "test".getBytes(StandardCharsets.UTF_8));
+        FileTime modified = Files.getLastModifiedTime(file);
+        DefaultChecksumAlgorithmService cachingService = new DefaultChecksumAlgorithmService(
+                new DefaultChecksumAlgorithmFactorySelector(getChecksumAlgorithmFactories()), new ChecksumCache(cache));
+        ChecksumAlgorithmService.ChecksumAlgorithm sha1 = service.select("SHA-1");
+        ChecksumAlgorithmService.ChecksumAlgorithm md5 = service.select("MD5");
+
+        assertEquals(
+                "a94a8fe5ccb19ba61c4c0873d391e987982fbbd3",
+                cachingService.calculate(file, Arrays.asList(sha1)).get(sha1));
+
+        // same size, time and file key: the recorded checksum is used, also by a later build
+        Files.write(file, "TEST".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, modified);
+        DefaultChecksumAlgorithmService laterService = new DefaultChecksumAlgorithmService(
+                new DefaultChecksumAlgorithmFactorySelector(getChecksumAlgorithmFactories()), new ChecksumCache(cache));
+        assertEquals(
+                "a94a8fe5ccb19ba61c4c0873d391e987982fbbd3",
+                laterService.calculate(file, Arrays.asList(sha1)).get(sha1));
+
+        // an algorithm which has not been recorded yet
+        assertEquals(
+                "033bd94b1168d7e4f0d644c3c95e35bf",
+                laterService.calculate(file, Arrays.asList(sha1, md5)).get(md5));
+
+        // another modification time invalidates the entry
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified.toMillis() + 2000));
+        assertEquals(
+                "984816fd329622876e14907634264e6f332e9fb3",
+                laterService.calculate(file, Arrays.asList(sha1)).get(sha1));
+    }
 }
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.lifecycle.internal.builder.multithreaded;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.maven.lifecycle.internal.ProjectBuildList;
+import org.apache.maven.lifecycle.internal.ProjectSegment;
+import org.apache.maven.lifecycle.internal.stub.ProjectDependencyGraphStub;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BufferedProjectOutputTest {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    private final BufferedProjectOutput output = new BufferedProjectOutput(new PrintStream(bytes, true, UTF_8));
+
+    private final ProjectBuildList projectBuilds = getProjectBuildList();
+
+    private final ProjectSegment a = projectBuilds.get(0);
+
+    private final ProjectSegment b = projectBuilds.get(1);
+
+    private final ProjectSegment c = projectBuilds.get(2);
+
+    BufferedProjectOutputTest() throws Exception {}
+
+    @Test
+    void testOwnerIsLiveAndOthersAreWrittenWhenFinished() throws Exception {
+        run(() -> {
+            output.projectStarted(a);
+            output.accept("a1");
+        });
+        assertEquals(Arrays.asList("a1"), lines());
+
+        run(() -> {
+            output.projectStarted(b);
+            output.accept("b1");
+            output.accept("b2");
+        });
+        run(() -> {
+            output.projectStarted(c);
+            output.accept("c1");
+            output.projectFinished(c);
+        });
+        output.accept("scheduler");
+        assertEquals(Arrays.asList("a1", "c1", "scheduler"), lines());
+
+        run(() -> output.projectFinished(a));
+        assertEquals(Arrays.asList("a1", "c1", "scheduler", "b1", "b2"), lines());
+    }
+
+    @Test
+    void testConcurrentProjectsAreNotInterleaved() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(3);
+        CountDownLatch logged = new CountDownLatch(3);
+        ProjectSegment[] segments = {a, b, c};
+        Thread[] threads = new Thread[segments.length];
+        for (int t = 0; t < segments.length; t++) {
+            ProjectSegment segment = segments[t];
+            String name = "p" + t;
+            threads[t] = new Thread(() -> {
+                try {
+                    if (segment != a) {
+                        firstStarted.await();
+                    }
+                    output.projectStarted(segment);
+                    firstStarted.countDown();
+                    started.countDown();
+                    started.await();
+                    for (int i = 0; i < 100; i++) {
+                        output.accept(name + " " + i);
+                    }
+                    logged.countDown();
+                    logged.await();
+                    output.projectFinished(segment);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<String> lines = lines();
+        assertEquals(300, lines.size());
+        assertEquals("p0 0", lines.get(0));
+        for (int t = 0; t < segments.length; t++) {
+            String prefix = lines.get(t * 100).substring(0, 3);
+            for (int i = 0; i < 100; i++) {
+                assertEquals(prefix + i, lines.get(t * 100 + i));
+            }
+        }
+    }
+
+    @Test
+    void testUninstallWritesTheRemainingOutput() throws Exception {
+        run(() -> {
+            output.projectStarted(a);
+            output.accept("a1");
+        });
+        run(() -> {
+            output.projectStarted(b);
+            output.accept("b1");
+        });
+
+        output.uninstall();
+
+        assertEquals(Arrays.asList("a1", "b1"), lines());
+    }
+
+    private static void run(Runnable runnable) throws InterruptedException {
+        Thread thread = new Thread(runnable);
+        thread.start();
+        thread.join();
+    }
+
+    private static ProjectBuildList getProjectBuildList() throws Exception {
+        return ProjectDependencyGraphStub.getProjectBuildList(ProjectDependencyGraphStub.getMavenSession());
+    }
+
+    private List<String> lines() {
+        String text = bytes.toString(UTF_8);
+        return text.isEmpty() ? List.of() : Arrays.asList(text.split(System.lineSeparator()));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.lifecycle.internal.builder.multithreaded;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BuildPipelineTest {
+
+    private static final List<String> PHASES =
+            List.of("validate", "generate-sources", "compile", "test-compile", "test", "package", "install");
+
+    @Test
+    void testProjectIsReleasedOnceAfterReleasePhase() {
+        List<MavenProject> released = new ArrayList<>();
+        BuildPipeline pipeline = new BuildPipeline(PHASES, "compile", released::add);
+        MavenProject project = new MavenProject();
+
+        pipeline.mojoStarted(project, "generate-sources");
+        pipeline.mojoStarted(project, "compile");
+        pipeline.mojoStarted(project, null);
+        assertEquals(List.of(), released);
+
+        pipeline.mojoStarted(project, "test-compile");
+        assertEquals(List.of(project), released);
+
+        pipeline.mojoStarted(project, "test");
+        pipeline.mojoStarted(project, "package");
+        assertEquals(List.of(project), released);
+    }
+
+    @Test
+    void testPhasesOfOtherLifecyclesDoNotRelease() {
+        List<MavenProject> released = new ArrayList<>();
+        BuildPipeline pipeline = new BuildPipeline(PHASES, "package", released::add);
+        MavenProject project = new MavenProject();
+
+        pipeline.mojoStarted(project, "clean");
+        pipeline.mojoStarted(project, "site");
+        pipeline.mojoStarted(project, "test");
+        assertEquals(List.of(), released);
+
+        pipeline.mojoStarted(project, "install");
+        assertEquals(List.of(project), released);
+    }
+
+    @Test
+    void testUnknownReleasePhase() {
+        assertThrows(IllegalArgumentException.class, () -> new BuildPipeline(PHASES, "clean", p -> {}));
+    }
+}
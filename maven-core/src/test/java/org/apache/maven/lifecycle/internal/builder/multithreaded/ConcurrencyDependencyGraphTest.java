@@ -18,6 +18,7 @@
  */
 package org.apache.maven.lifecycle.internal.builder.multithreaded;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -88,4 +89,63 @@ void testGraph() throws Exception {
         // waiting for C
         assertEquals(1, activeDependenciesX.size());
     }
+
+    @Test
+    void testCriticalPathOrder() throws Exception {
+        ProjectBuildList projectBuildList =
+                ProjectDependencyGraphStub.getProjectBuildList(ProjectDependencyGraphStub.getMavenSession());
+
+        ProjectDependencyGraph projectDependencyGraph = new ProjectDependencyGraphStub();
+
+        ConcurrencyDependencyGraph graph = new ConcurrencyDependencyGraph(projectBuildList, projectDependencyGraph);
+
+        // every module weighs 1: A -> B -> X is as long as A -> C -> Z
+        assertEquals(3, graph.getCriticalPathWeight(ProjectDependencyGraphStub.A));
+        assertEquals(2, graph.getCriticalPathWeight(ProjectDependencyGraphStub.B));
+        assertEquals(2, graph.getCriticalPathWeight(ProjectDependencyGraphStub.C));
+        assertEquals(1, graph.getCriticalPathWeight(ProjectDependencyGraphStub.X));
+        assertEquals(0, graph.getCriticalPathWeight(ProjectDependencyGraphStub.UNKNOWN));
+
+        // ties are broken by build order
+        List<MavenProject> ready = new ArrayList<>(graph.markAsFinished(ProjectDependencyGraphStub.A));
+        ready.sort(graph.getCriticalPathOrder());
+        assertEquals(List.of(ProjectDependencyGraphStub.B, ProjectDependencyGraphStub.C), ready);
+
+        // a heavy Z puts C on the critical path
+        graph = new ConcurrencyDependencyGraph(
+                projectBuildList, projectDependencyGraph, p -> p == ProjectDependencyGraphStub.Z ? 10 : 1);
+        assertEquals(12, graph.getCriticalPathWeight(ProjectDependencyGraphStub.A));
+        assertEquals(2, graph.getCriticalPathWeight(ProjectDependencyGraphStub.B));
+        assertEquals(11, graph.getCriticalPathWeight(ProjectDependencyGraphStub.C));
+
+        ready = new ArrayList<>(graph.markAsFinished(ProjectDependencyGraphStub.A));
+        ready.sort(graph.getCriticalPathOrder());
+        assertEquals(List.of(ProjectDependencyGraphStub.C, ProjectDependencyGraphStub.B), ready);
+    }
+
+    @Test
+    void testReleasedProjects() throws Exception {
+        ProjectBuildList projectBuildList =
+                ProjectDependencyGraphStub.getProjectBuildList(ProjectDependencyGraphStub.getMavenSession());
+
+        ConcurrencyDependencyGraph graph =
+                new ConcurrencyDependencyGraph(projectBuildList, new ProjectDependencyGraphStub());
+
+        // releasing A schedules B and C while A is still running
+        assertEquals(
+                List.of(ProjectDependencyGraphStub.B, ProjectDependencyGraphStub.C),
+                graph.markAsReleased(ProjectDependencyGraphStub.A));
+        assertEquals(0, graph.getFinishedProjects().size());
+        assertEquals(List.of(), graph.markAsReleased(ProjectDependencyGraphStub.A));
+
+        // finishing a released project does not schedule its downstream projects again
+        assertEquals(List.of(), graph.markAsFinished(ProjectDependencyGraphStub.A));
+        assertEquals(1, graph.getFinishedProjects().size());
+
+        // X needs both B and C, whether released or finished
+        assertEquals(List.of(ProjectDependencyGraphStub.Y), graph.markAsReleased(ProjectDependencyGraphStub.B));
+        assertEquals(
+                List.of(ProjectDependencyGraphStub.X, ProjectDependencyGraphStub.Z),
+                graph.markAsFinished(ProjectDependencyGraphStub.C));
+    }
 }
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugin;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.maven.api.Constants;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.Plugin;
+import org.codehaus.plexus.classworlds.ClassWorld;
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.codehaus.plexus.classworlds.realm.DuplicateRealmException;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.DefaultSessionData;
+import org.eclipse.aether.SessionData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DefaultPluginRealmCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private final ClassWorld world = new ClassWorld();
+
+    private final AtomicInteger created = new AtomicInteger();
+
+    private final DefaultPluginRealmCache cache = new DefaultPluginRealmCache();
+
+    private File jar;
+
+    @BeforeEach
+    void setup() throws Exception {
+        jar = Files.write(directory.resolve("plugin.jar"), new byte[] {1}).toFile();
+    }
+
+    @Test
+    void testRealmsAreKeptWithoutLimit() throws Exception {
+        Session session = new Session(null);
+        PluginRealmCache.CacheRecord first = get(session, "a");
+        session.end();
+
+        Session next = new Session(null);
+        assertSame(first, get(next, "a"));
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    void testUnusedRealmsAreEvicted() throws Exception {
+        Session session = new Session("1");
+        PluginRealmCache.CacheRecord a = get(session, "a");
+        PluginRealmCache.CacheRecord b = get(session, "b");
+        get(session, "b");
+        assertEquals(2, created.get());
+
+        // both realms are in use by another session which has not ended yet
+        Session concurrent = new Session("1");
+        get(concurrent, "a");
+        session.end();
+        assertSame(a.getRealm(), world.getClassRealm(a.getRealm().getId()));
+        assertSame(b.getRealm(), world.getClassRealm(b.getRealm().getId()));
+
+        // once it ends, only the most recently used unused realm is kept
+        concurrent.end();
+        assertNull(world.getClassRealm(b.getRealm().getId()));
+        assertSame(a.getRealm(), world.getClassRealm(a.getRealm().getId()));
+
+        Session next = new Session("1");
+        assertSame(a, get(next, "a"));
+        assertNotSame(b, get(next, "b"));
+        assertEquals(3, created.get());
+    }
+
+    @Test
+    void testRealmEvictedByOverlappingSessionIsNotReturned() throws Exception {
+        Session first = new Session("0");
+        PluginRealmCache.CacheRecord a = get(first, "a");
+
+        // the first session ends after the second one has looked the realm up, but before it uses it
+        Session second = new Session("0");
+        second.session.setData(new SessionData() {
+            private final SessionData data = new DefaultSessionData();
+
+            private boolean ended;
+
+            @Override
+            public void set(Object key, Object value) {
+                data.set(key, value);
+            }
+
+            @Override
+            public boolean set(Object key, Object oldValue, Object newValue) {
+                return data.set(key, oldValue, newValue);
+            }
+
+            @Override
+            public Object get(Object key) {
+                return data.get(key);
+            }
+
+            @Override
+            public Object computeIfAbsent(Object key, Supplier<Object> supplier) {
+                if (!ended) {
+                    ended = true;
+                    first.end();
+                }
+                return data.computeIfAbsent(key, supplier);
+            }
+        });
+        PluginRealmCache.CacheRecord record = get(second, "a");
+
+        assertNull(world.getClassRealm(a.getRealm().getId()));
+        assertNotSame(a, record);
+        assertSame(record.getRealm(), world.getClassRealm(record.getRealm().getId()));
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    void testChangedArtifactsAreReloaded() throws Exception {
+        Session session = new Session("10");
+        PluginRealmCache.CacheRecord first = get(session, "a");
+        session.end();
+
+        Files.write(jar.toPath(), new byte[] {1, 2});
+        Session next = new Session("10");
+        PluginRealmCache.CacheRecord second = get(next, "a");
+        assertNotSame(first, second);
+        assertNull(world.getClassRealm(first.getRealm().getId()));
+    }
+
+    private PluginRealmCache.CacheRecord get(Session session, String artifactId) throws Exception {
+        Plugin plugin = new Plugin();
+        plugin.setGroupId("org.apache.maven.plugins");
+        plugin.setArtifactId(artifactId);
+        plugin.setVersion("1.0");
+        PluginRealmCache.Key key =
+                cache.createKey(plugin, null, Collections.emptyMap(), null, Collections.emptyList(), session.session);
+        return cache.get(key, () -> {
+            ClassRealm realm = newRealm(artifactId + "-" + created.incrementAndGet());
+            Artifact artifact = new DefaultArtifact(
+                    plugin.getGroupId(),
+                    artifactId,
+                    plugin.getVersion(),
+                    null,
+                    "maven-plugin",
+                    null,
+                    new DefaultArtifactHandler("maven-plugin"));
+            artifact.setFile(jar);
+            return new PluginRealmCache.CacheRecord(realm, List.of(artifact));
+        });
+    }
+
+    private ClassRealm newRealm(String id) {
+        try {
+            return world.newRealm(id);
+        } catch (DuplicateRealmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A repository session whose end is triggered by the test.
+     */
+    private static class Session {
+        private final List<Runnable> handlers = new ArrayList<>();
+
+        private final DefaultRepositorySystemSession session = new DefaultRepositorySystemSession(handlers::add);
+
+        Session(String maxUnused) {
+            if (maxUnused != null) {
+                session.setConfigProperty(Constants.MAVEN_PLUGIN_REALM_CACHE_MAX_UNUSED, maxUnused);
+            }
+        }
+
+        void end() {
+            handlers.forEach(Runnable::run);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugin.internal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.maven.api.Constants;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptorBuilder;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.internal.impl.SimpleLocalRepositoryManagerFactory;
+import org.eclipse.aether.repository.LocalRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PluginDescriptorIndexTest {
+
+    private static final byte[] LEGACY = ("<plugin>\n"
+                    + "  <groupId>org.apache.maven.plugins</groupId>\n"
+                    + "  <artifactId>maven-test-plugin</artifactId>\n"
+                    + "  <version>1.0</version>\n"
+                    + "  <goalPrefix>test</goalPrefix>\n"
+                    + "  <mojos>\n"
+                    + "    <mojo>\n"
+                    + "      <goal>run</goal>\n"
+                    + "      <implementation>org.apache.maven.plugins.RunMojo</implementation>\n"
+                    + "      <threadSafe>true</threadSafe>\n"
+                    + "      <parameters>\n"
+                    + "        <parameter><name>skip</name><type>boolean</type></parameter>\n"
+                    + "      </parameters>\n"
+                    + "      <configuration><skip default-value=\"false\">${test.skip}</skip></configuration>\n"
+                    + "    </mojo>\n"
+                    + "  </mojos>\n"
+                    + "</plugin>\n")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] V4 = ("<plugin xmlns=\"http://maven.apache.org/PLUGIN/2.0.0\">\n"
+                    + "  <groupId>org.apache.maven.plugins</groupId>\n"
+                    + "  <artifactId>maven-test-plugin</artifactId>\n"
+                    + "  <version>2.0</version>\n"
+                    + "  <goalPrefix>test</goalPrefix>\n"
+                    + "  <mojos>\n"
+                    + "    <mojo>\n"
+                    + "      <goal>run</goal>\n"
+                    + "      <implementation>org.apache.maven.plugins.RunMojo</implementation>\n"
+                    + "    </mojo>\n"
+                    + "  </mojos>\n"
+                    + "</plugin>\n")
+            .getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path localRepository;
+
+    @Test
+    void testLegacyDescriptor() throws Exception {
+        PluginDescriptorIndex index = new PluginDescriptorIndex(new PluginDescriptorBuilder());
+
+        PluginDescriptor first = index.build(LEGACY, "plugin.xml", null);
+        PluginDescriptor second = index.build(LEGACY, "plugin.xml", null);
+
+        assertNotSame(first, second);
+        assertNotSame(first.getMojo("run"), second.getMojo("run"));
+        assertEquals("plugin.xml", first.getSource());
+        assertEquals("maven-test-plugin", second.getArtifactId());
+        assertTrue(second.getMojo("run").isThreadSafe());
+        assertEquals(
+                "${test.skip}",
+                second.getMojo("run").getMojoConfiguration().getChild("skip").getValue());
+        assertEquals(1, second.getMojo("run").getParameters().size());
+    }
+
+    @Test
+    void testV4Descriptor() throws Exception {
+        PluginDescriptorIndex index = new PluginDescriptorIndex(new PluginDescriptorBuilder());
+
+        PluginDescriptor descriptor = index.build(V4, "plugin.xml", null);
+
+        assertEquals("2.0", descriptor.getVersion());
+        assertTrue(descriptor.getMojo("run").isV4Api());
+        assertEquals("2.0", descriptor.getPluginDescriptorV4().getVersion());
+    }
+
+    @Test
+    void testPersistentIndex() throws Exception {
+        DefaultRepositorySystemSession session = newSession();
+
+        new PluginDescriptorIndex(new PluginDescriptorBuilder()).build(LEGACY, "plugin.xml", session);
+        new PluginDescriptorIndex(new PluginDescriptorBuilder()).build(V4, "plugin.xml", session);
+        // only v4 descriptors are stored
+        List<Path> entries = entries();
+        assertEquals(1, entries.size());
+
+        // a new container reads the descriptors back from the local repository
+        PluginDescriptorIndex index = new PluginDescriptorIndex(new PluginDescriptorBuilder());
+        assertEquals("1.0", index.build(LEGACY, "plugin.xml", session).getVersion());
+        assertTrue(index.build(V4, "plugin.xml", session).getMojo("run").isV4Api());
+
+        // unreadable entries are parsed again
+        for (Path entry : entries) {
+            Files.write(entry, new byte[] {1, 2, 3});
+        }
+        index = new PluginDescriptorIndex(new PluginDescriptorBuilder());
+        assertEquals(
+                "org.apache.maven.plugins.RunMojo",
+                index.build(V4, "plugin.xml", session).getMojo("run").getImplementation());
+    }
+
+    private DefaultRepositorySystemSession newSession() throws Exception {
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession(h -> false);
+        session.setLocalRepositoryManager(
+                new SimpleLocalRepositoryManagerFactory().newInstance(session, new LocalRepository(localRepository)));
+        session.setConfigProperty(Constants.MAVEN_PLUGIN_DESCRIPTOR_CACHE_PERSISTENT, "true");
+        return session;
+    }
+
+    private List<Path> entries() throws IOException {
+        try (Stream<Path> files = Files.walk(localRepository.resolve(".cache/plugins"))) {
+            return files.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+    }
+}
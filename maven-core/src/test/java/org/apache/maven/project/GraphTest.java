@@ -219,6 +219,73 @@ public void testDfs() throws CycleDetectedException {
         assertEquals(expected4, actual4);
     }
 
+    @Test
+    void testPendingEdges() throws CycleDetectedException {
+        Graph graph = new Graph();
+        Vertex a = graph.addVertex("a");
+        Vertex b = graph.addVertex("b");
+        Vertex c = graph.addVertex("c");
+        Vertex d = graph.addVertex("d");
+        graph.addPendingEdge(a, b, false, false);
+        graph.addPendingEdge(b, c, false, false);
+        // safe edge introducing a cycle is dropped
+        graph.addPendingEdge(c, a, false, true);
+        graph.addPendingEdge(d, c, false, false);
+        // forced edge replaces the opposite one
+        graph.addPendingEdge(c, d, true, false);
+        assertFalse(hasEdge(graph, "a", "b"));
+
+        graph.linkPendingEdges();
+
+        assertTrue(hasEdge(graph, "a", "b"));
+        assertTrue(hasEdge(graph, "b", "c"));
+        assertFalse(hasEdge(graph, "c", "a"));
+        assertTrue(hasEdge(graph, "c", "d"));
+        assertFalse(hasEdge(graph, "d", "c"));
+        assertEquals(Arrays.asList("d", "c", "b", "a"), graph.visitAll());
+    }
+
+    @Test
+    void testPendingEdgesCycleDetection() {
+        Graph graph = new Graph();
+        addPendingEdge(graph, "a", "b");
+        addPendingEdge(graph, "b", "c");
+        addPendingEdge(graph, "b", "f");
+        addPendingEdge(graph, "f", "g");
+        addPendingEdge(graph, "g", "h");
+        addPendingEdge(graph, "c", "d");
+        addPendingEdge(graph, "d", "e");
+        addPendingEdge(graph, "e", "b");
+        addPendingEdge(graph, "h", "a");
+        CycleDetectedException cde = assertThrows(CycleDetectedException.class, graph::linkPendingEdges);
+        assertEquals(Arrays.asList("b", "c", "d", "e", "b"), cde.getCycle());
+        assertEquals(
+                "Edge between 'e' and 'b' introduces to cycle in the graph b --> c --> d --> e --> b",
+                cde.getMessage());
+        assertTrue(hasEdge(graph, "d", "e"));
+        assertFalse(hasEdge(graph, "e", "b"));
+        assertFalse(hasEdge(graph, "h", "a"));
+    }
+
+    @Test
+    void testPendingEdgesDeepGraph() throws CycleDetectedException {
+        Graph graph = new Graph();
+        int size = 100_000;
+        for (int i = 1; i < size; i++) {
+            addPendingEdge(graph, String.valueOf(i - 1), String.valueOf(i));
+        }
+        graph.linkPendingEdges();
+
+        List<String> sorted = graph.visitAll();
+        assertEquals(size, sorted.size());
+        assertEquals(String.valueOf(size - 1), sorted.get(0));
+        assertEquals("0", sorted.get(size - 1));
+    }
+
+    static void addPendingEdge(Graph graph, String v1, String v2) {
+        graph.addPendingEdge(graph.addVertex(v1), graph.addVertex(v2), false, false);
+    }
+
     static void addEdge(Graph graph, String v1, String v2) throws CycleDetectedException {
         Vertex vx1 = graph.addVertex(v1);
         Vertex vx2 = graph.addVertex(v2);
@@ -228,6 +295,6 @@ static void addEdge(Graph graph, String v1, String v2) throws CycleDetectedExcep
     static boolean hasEdge(Graph graph, String v1, String v2) {
         Vertex vx1 = graph.getVertex(v1);
         Vertex vx2 = graph.getVertex(v2);
-        return vx1 != null && vx2 != null && vx1.children.contains(vx2);
+        return vx1 != null && vx2 != null && vx1.getChildren().contains(vx2);
     }
 }
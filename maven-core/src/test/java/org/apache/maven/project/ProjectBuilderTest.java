@@ -26,6 +26,11 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.maven.AbstractCoreMavenComponentTestCase;
@@ -382,4 +387,44 @@ void testLocationTrackingResolution() throws Exception {
         assertEquals(
                 "org.apache.maven.its:parent:0.1", pluginLocation.getSource().getModelId());
     }
+
+    @Test
+    void testBoundedExecutorRunsAtMostParallelismTasks() throws Exception {
+        ExecutorService threads = Executors.newCachedThreadPool();
+        ExecutorService executor = DefaultProjectBuilder.createBoundedExecutor(threads, 2);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        try {
+            // each parent waits for its children in invokeAll, with more parents than permits
+            List<Callable<Integer>> parents = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                parents.add(() -> {
+                    List<Callable<Integer>> children = new ArrayList<>();
+                    for (int j = 0; j < 4; j++) {
+                        children.add(() -> {
+                            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                            Thread.sleep(10);
+                            active.decrementAndGet();
+                            return 1;
+                        });
+                    }
+                    int sum = 0;
+                    for (Future<Integer> child : executor.invokeAll(children)) {
+                        sum += child.get();
+                    }
+                    return sum;
+                });
+            }
+
+            int sum = 0;
+            for (Future<Integer> parent : executor.invokeAll(parents)) {
+                sum += parent.get(10, TimeUnit.SECONDS);
+            }
+
+            assertEquals(16, sum);
+            assertTrue(maxActive.get() <= 2, "at most 2 tasks run at a time but " + maxActive + " did");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
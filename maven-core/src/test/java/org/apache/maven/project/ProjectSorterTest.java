@@ -280,6 +280,42 @@ void testPluginDependenciesInfluenceSorting_DeclarationInParent() throws Excepti
         assertThat(projects, hasItem(pluginLevelDepProject));
     }
 
+    @Test
+    void testDependencyCycleIsDetected() {
+        List<MavenProject> projects = new ArrayList<>();
+
+        MavenProject projectA = createProject("group", "a", "1.0");
+        projects.add(projectA);
+        MavenProject projectB = createProject("group", "b", "1.0");
+        projects.add(projectB);
+        MavenProject projectC = createProject("group", "c", "1.0");
+        projects.add(projectC);
+
+        projectA.getModel().addDependency(createDependency(projectB));
+        projectB.getModel().addDependency(createDependency(projectC));
+        projectC.getModel().addDependency(createDependency(projectA));
+
+        CycleDetectedException e = assertThrows(CycleDetectedException.class, () -> new ProjectSorter(projects));
+        assertEquals(List.of("group:a:1.0", "group:b:1.0", "group:c:1.0", "group:a:1.0"), e.getCycle());
+    }
+
+    @Test
+    void testPluginCycleIsIgnored() throws Exception {
+        List<MavenProject> projects = new ArrayList<>();
+
+        MavenProject pluginProject = createProject("group", "plugin", "1.0");
+        projects.add(pluginProject);
+        MavenProject libraryProject = createProject("group", "library", "1.0");
+        projects.add(libraryProject);
+
+        pluginProject.getModel().addDependency(createDependency(libraryProject));
+        libraryProject.getModel().getBuild().addPlugin(createPlugin(pluginProject));
+
+        List<MavenProject> sorted = new ProjectSorter(projects).getSortedProjects();
+
+        assertEquals(List.of(libraryProject, pluginProject), sorted);
+    }
+
     @Test
     void testPluginVersionsAreConsidered() throws Exception {
         List<MavenProject> projects = new ArrayList<>();
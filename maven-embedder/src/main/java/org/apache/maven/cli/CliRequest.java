@@ -20,6 +20,7 @@
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.Properties;
 
 import org.apache.commons.cli.CommandLine;
@@ -39,6 +40,8 @@ public class CliRequest {
 
     String workingDirectory;
 
+    Map<String, String> environment;
+
     File multiModuleProjectDirectory;
 
     Path rootDirectory;
@@ -24,6 +24,7 @@
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
@@ -183,6 +184,16 @@ public class MavenCli {
 
     private static final Pattern NEXT_LINE = Pattern.compile("\r?\n");
 
+    private boolean resident;
+
+    private DefaultPlexusContainer residentContainer;
+
+    private List<Object> residentKey;
+
+    private ClassWorld residentWorld;
+
+    private Set<String> residentRealms;
+
     public MavenCli() {
         this(null);
     }
@@ -193,6 +204,48 @@ public MavenCli(ClassWorld classWorld) {
         this.messageBuilderFactory = new JLineMessageBuilderFactory();
     }
 
+    /**
+     * Sets whether the container outlives a single invocation of {@link #doMain(CliRequest)}. A resident container,
+     * along with the plugin realms and the other caches of its components, is reused by the next invocations as long
+     * as its core extensions, extension class path and logging level do not change, and is otherwise replaced. The
+     * requests must then all share the same {@link ClassWorld}.
+     *
+     * @param resident whether the container is kept between invocations
+     * @since 4.0.0
+     */
+    public void setResident(boolean resident) {
+        this.resident = resident;
+        if (!resident) {
+            dispose();
+        }
+    }
+
+    /**
+     * Disposes the resident container, if any, along with the class realms created for it.
+     *
+     * @since 4.0.0
+     */
+    public void dispose() {
+        if (residentContainer != null) {
+            residentContainer.dispose();
+            residentContainer = null;
+        }
+        residentKey = null;
+        if (residentRealms != null) {
+            for (ClassRealm realm : new ArrayList<>(residentWorld.getRealms())) {
+                if (!residentRealms.contains(realm.getId())) {
+                    try {
+                        residentWorld.disposeRealm(realm.getId());
+                    } catch (NoSuchRealmException ignored) {
+                        // can't happen
+                    }
+                }
+            }
+            residentWorld = null;
+            residentRealms = null;
+        }
+    }
+
     public static void main(String[] args) {
         int result = main(args, null);
 
@@ -228,11 +281,32 @@ public static int doMain(String[] args, ClassWorld classWorld) {
      * @return return code
      */
     public int doMain(String[] args, String workingDirectory, PrintStream stdout, PrintStream stderr) {
+        return doMain(args, workingDirectory, null, stdout, stderr);
+    }
+
+    /**
+     * Runs a build on behalf of another process, whose environment variables replace the ones of this process in the
+     * {@code env.*} properties of the build.
+     *
+     * @param args CLI args
+     * @param workingDirectory working directory
+     * @param environment environment variables, or {@code null} to use the ones of this process
+     * @param stdout stdout
+     * @param stderr stderr
+     * @return return code
+     * @since 4.0.0
+     */
+    public int doMain(
+            String[] args,
+            String workingDirectory,
+            Map<String, String> environment,
+            PrintStream stdout,
+            PrintStream stderr) {
         PrintStream oldout = System.out;
         PrintStream olderr = System.err;
 
         final Set<String> realms;
-        if (classWorld != null) {
+        if (classWorld != null && !resident) {
             realms = new HashSet<>();
             for (ClassRealm realm : classWorld.getRealms()) {
                 realms.add(realm.getId());
@@ -251,10 +325,11 @@ public int doMain(String[] args, String workingDirectory, PrintStream stdout, Pr
 
             CliRequest cliRequest = new CliRequest(args, classWorld);
             cliRequest.workingDirectory = workingDirectory;
+            cliRequest.environment = environment;
 
             return doMain(cliRequest);
         } finally {
-            if (classWorld != null) {
+            if (classWorld != null && !resident) {
                 for (ClassRealm realm : new ArrayList<>(classWorld.getRealms())) {
                     String realmId = realm.getId();
                     if (!realms.contains(realmId)) {
@@ -302,9 +377,24 @@ public int doMain(CliRequest cliRequest) {
 
             return 1;
         } finally {
-            if (localContainer != null) {
+            if (localContainer != null && localContainer != residentContainer) {
                 localContainer.dispose();
             }
+            flushLogging();
+        }
+    }
+
+    /**
+     * Waits until the messages logged by the build have been written, in case they are written asynchronously, so that
+     * none of them end up in the output of the next build of a resident container.
+     */
+    private void flushLogging() {
+        if (slf4jLoggerFactory instanceof Flushable flushable) {
+            try {
+                flushable.flush();
+            } catch (IOException e) {
+                // nothing left to report it to
+            }
         }
     }
 
@@ -625,7 +715,12 @@ void properties(CliRequest cliRequest) throws Exception {
             paths.put("session.rootDirectory", cliRequest.rootDirectory.toString());
         }
 
-        populateProperties(cliRequest.commandLine, paths, cliRequest.systemProperties, cliRequest.userProperties);
+        populateProperties(
+                cliRequest.commandLine,
+                paths,
+                cliRequest.environment,
+                cliRequest.systemProperties,
+                cliRequest.userProperties);
 
         // now that we have properties, interpolate all arguments
         BasicInterpolator interpolator =
@@ -659,6 +754,21 @@ PlexusContainer container(CliRequest cliRequest) throws Exception {
 
         List<File> extClassPath = parseExtClasspath(cliRequest);
 
+        List<Object> key = null;
+        if (resident) {
+            key = residentKey(cliRequest, extClassPath);
+            if (residentContainer != null && key.equals(residentKey)) {
+                Thread.currentThread().setContextClassLoader(residentContainer.getContainerRealm());
+                return lookup(cliRequest, residentContainer);
+            }
+            dispose();
+            residentWorld = cliRequest.classWorld;
+            residentRealms = new HashSet<>();
+            for (ClassRealm realm : cliRequest.classWorld.getRealms()) {
+                residentRealms.add(realm.getId());
+            }
+        }
+
         CoreExtensionEntry coreEntry = CoreExtensionEntry.discoverFrom(coreRealm);
         List<CoreExtensionEntry> extensions =
                 loadCoreExtensions(cliRequest, coreRealm, coreEntry.getExportedArtifacts());
@@ -719,6 +829,18 @@ public Object getValue(String expression) {
 
         customizeContainer(container);
 
+        if (resident) {
+            residentContainer = container;
+            residentKey = key;
+        }
+
+        return lookup(cliRequest, container);
+    }
+
+    /**
+     * Looks up the components used by a single invocation, and prepares them for it.
+     */
+    private PlexusContainer lookup(CliRequest cliRequest, DefaultPlexusContainer container) throws Exception {
         container.getLoggerManager().setThresholds(cliRequest.request.getLoggingLevel());
 
         eventSpyDispatcher = container.lookup(EventSpyDispatcher.class);
@@ -750,6 +872,30 @@ public Object getValue(String expression) {
         return container;
     }
 
+    /**
+     * Everything the resident container depends on besides the installation itself: loggers are looked up once by
+     * most components, and the container realm is built from the core extensions and the extension class path.
+     */
+    private List<Object> residentKey(CliRequest cliRequest, List<File> extClassPath) {
+        List<Object> key = new ArrayList<>();
+        key.add(cliRequest.request.getLoggingLevel());
+        for (File file : extClassPath) {
+            key.add(file);
+            key.add(file.lastModified());
+        }
+        for (String property : List.of(
+                Constants.MAVEN_INSTALLATION_EXTENSIONS,
+                Constants.MAVEN_PROJECT_EXTENSIONS,
+                Constants.MAVEN_USER_EXTENSIONS)) {
+            String extensionsFile = cliRequest.getUserProperties().getProperty(property);
+            key.add(extensionsFile);
+            if (extensionsFile != null) {
+                key.add(new File(extensionsFile).lastModified());
+            }
+        }
+        return key;
+    }
+
     private List<CoreExtensionEntry> loadCoreExtensions(
             CliRequest cliRequest, ClassRealm containerRealm, Set<String> providedArtifacts) throws Exception {
         if (cliRequest.multiModuleProjectDirectory == null) {
@@ -1628,14 +1774,22 @@ int calculateDegreeOfConcurrency(String threadConfiguration) {
     // ----------------------------------------------------------------------
 
     void populateProperties(
-            CommandLine commandLine, Properties paths, Properties systemProperties, Properties userProperties)
+            CommandLine commandLine,
+            Properties paths,
+            Map<String, String> environment,
+            Properties systemProperties,
+            Properties userProperties)
             throws Exception {
 
         // ----------------------------------------------------------------------
         // Load environment and system properties
         // ----------------------------------------------------------------------
 
-        EnvironmentUtils.addEnvVars(systemProperties);
+        if (environment != null) {
+            EnvironmentUtils.addEnvVars(systemProperties, environment);
+        } else {
+            EnvironmentUtils.addEnvVars(systemProperties);
+        }
         SystemProperties.addSystemProperties(systemProperties);
 
         // ----------------------------------------------------------------------
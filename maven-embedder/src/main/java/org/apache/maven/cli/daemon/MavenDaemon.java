@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.cli.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.maven.api.Constants;
+import org.apache.maven.cli.CLIManager;
+import org.apache.maven.cli.MavenCli;
+import org.apache.maven.jline.MessageUtils;
+import org.codehaus.plexus.classworlds.ClassWorld;
+
+/**
+ * A resident Maven process, which keeps a {@link MavenCli} container, its plugin realms and the caches of its
+ * components warm between the builds it receives from {@link MavenDaemonClient} over a Unix domain socket. The output
+ * of each build is streamed back to its client as it is written.
+ * <p>
+ * Builds run one at a time, in the order their clients connect, since the standard streams and system properties
+ * they use are global to the process. Each build sees the system properties of the daemon, with {@code user.dir} set to
+ * the working directory of its client and the {@code env.*} properties taken from the environment of its client, and
+ * no standard input. Plugins reading the environment of the process directly still see the one of the daemon.
+ * <p>
+ * On file systems supporting POSIX permissions, the socket is only accessible to the user running the daemon.
+ * Unless {@value Constants#MAVEN_PLUGIN_REALM_CACHE_MAX_UNUSED} is set, the daemon keeps up to
+ * {@value #MAX_UNUSED_REALMS} plugin realms that the last builds did not use.
+ *
+ * @since 4.0.0
+ */
+public class MavenDaemon implements Closeable {
+
+    private static final String MAX_UNUSED_REALMS = "32";
+
+    private final Path socket;
+
+    private final MavenCli cli;
+
+    private ServerSocketChannel server;
+
+    public MavenDaemon(Path socket, ClassWorld classWorld) {
+        this(
+                socket,
+                new MavenCli(
+                        classWorld != null
+                                ? classWorld
+                                : new ClassWorld(
+                                        "plexus.core", Thread.currentThread().getContextClassLoader())));
+    }
+
+    MavenDaemon(Path socket, MavenCli cli) {
+        this.socket = socket;
+        this.cli = cli;
+        cli.setResident(true);
+    }
+
+    public static void main(String[] args) {
+        System.exit(main(args, null));
+    }
+
+    public static int main(String[] args, ClassWorld classWorld) {
+        if (System.getProperty(Constants.MAVEN_PLUGIN_REALM_CACHE_MAX_UNUSED) == null) {
+            System.setProperty(Constants.MAVEN_PLUGIN_REALM_CACHE_MAX_UNUSED, MAX_UNUSED_REALMS);
+        }
+        MessageUtils.systemInstall();
+        MessageUtils.registerShutdownHook();
+        Path socket = MavenDaemonClient.socket();
+        try (MavenDaemon daemon = new MavenDaemon(socket, classWorld)) {
+            daemon.bind();
+            System.out.println("Maven daemon listening on " + socket);
+            daemon.run();
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Unable to run the Maven daemon on " + socket + ": " + e.getMessage());
+            return 1;
+        } finally {
+            MessageUtils.systemUninstall();
+        }
+    }
+
+    /**
+     * Binds the socket of the daemon, replacing the socket file left by a daemon that did not stop cleanly.
+     *
+     * @throws IOException if the socket cannot be bound, or another daemon listens on it
+     */
+    public void bind() throws IOException {
+        if (Files.exists(socket)) {
+            if (isListening(socket)) {
+                throw new IOException("Another daemon listens on " + socket);
+            }
+            Files.delete(socket);
+        } else if (socket.getParent() != null) {
+            Files.createDirectories(socket.getParent());
+        }
+        server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        Path parent = socket.toAbsolutePath().getParent();
+        if (!Files.getFileStore(parent).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            server.bind(UnixDomainSocketAddress.of(socket));
+            return;
+        }
+        // bind in a directory only the owner can enter, so that nobody connects before the socket is restricted too
+        Path directory = Files.createTempDirectory(
+                parent, "daemon", PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        Path bound = directory.resolve(socket.getFileName());
+        try {
+            server.bind(UnixDomainSocketAddress.of(bound));
+            Files.setPosixFilePermissions(bound, PosixFilePermissions.fromString("rw-------"));
+            Files.move(bound, socket, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(bound);
+            Files.delete(directory);
+        }
+    }
+
+    private static boolean isListening(Path socket) {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Serves builds until the daemon is stopped by a client, or closed.
+     *
+     * @throws IOException if the daemon cannot accept connections anymore
+     */
+    public void run() throws IOException {
+        while (server.isOpen()) {
+            try (SocketChannel channel = server.accept()) {
+                serve(channel);
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                // the client went away, wait for the next one
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (server != null) {
+                server.close();
+                Files.deleteIfExists(socket);
+            }
+        } finally {
+            cli.dispose();
+        }
+    }
+
+    private void serve(SocketChannel channel) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        if (in.readInt() != MavenDaemonClient.MAGIC) {
+            return;
+        }
+        int argc = in.readInt();
+        if (argc == MavenDaemonClient.STOP) {
+            server.close();
+            return;
+        }
+        String[] args = new String[argc];
+        for (int i = 0; i < argc; i++) {
+            args[i] = MavenDaemonClient.readString(in);
+        }
+        String workingDirectory = MavenDaemonClient.readString(in);
+        String projectDirectory = MavenDaemonClient.readString(in);
+        int variables = in.readInt();
+        Map<String, String> environment = new HashMap<>();
+        for (int i = 0; i < variables; i++) {
+            environment.put(MavenDaemonClient.readString(in), MavenDaemonClient.readString(in));
+        }
+        boolean color = in.readBoolean();
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        PrintStream stdout =
+                new PrintStream(new BufferedOutputStream(new FrameOutputStream(out, MavenDaemonClient.STDOUT)), true);
+        PrintStream stderr =
+                new PrintStream(new BufferedOutputStream(new FrameOutputStream(out, MavenDaemonClient.STDERR)), true);
+        int result = execute(args, workingDirectory, projectDirectory, environment, color, stdout, stderr);
+        stdout.flush();
+        stderr.flush();
+        synchronized (out) {
+            out.writeByte(MavenDaemonClient.EXIT);
+            out.writeInt(result);
+            out.flush();
+        }
+    }
+
+    private int execute(
+            String[] args,
+            String workingDirectory,
+            String projectDirectory,
+            Map<String, String> environment,
+            boolean color,
+            PrintStream stdout,
+            PrintStream stderr) {
+        for (String arg : args) {
+            if (arg.startsWith("-" + CLIManager.FAIL_ON_SEVERITY) || arg.startsWith("--fail-on-severity")) {
+                // the threshold is recorded once for all by the logger factory of the process
+                stderr.println("The daemon does not support " + arg + ", run the build with mvn instead");
+                return 1;
+            }
+        }
+        Properties properties = System.getProperties();
+        InputStream stdin = System.in;
+        ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+        try {
+            // builds may change the system properties, e.g. for the log level, so each one works on its own copy
+            Properties copy = new Properties();
+            copy.putAll(properties);
+            System.setProperties(copy);
+            System.setProperty("user.dir", workingDirectory);
+            System.setProperty(MavenCli.MULTIMODULE_PROJECT_DIRECTORY, projectDirectory);
+            System.setIn(new ByteArrayInputStream(new byte[0]));
+            MessageUtils.setColorEnabled(color);
+            return cli.doMain(args, workingDirectory, environment, stdout, stderr);
+        } finally {
+            System.setProperties(properties);
+            System.setIn(stdin);
+            Thread.currentThread().setContextClassLoader(tccl);
+        }
+    }
+
+    /**
+     * Writes each chunk of a standard stream of the build as a frame of the connection.
+     */
+    private static class FrameOutputStream extends OutputStream {
+        private final DataOutputStream out;
+
+        private final int type;
+
+        FrameOutputStream(DataOutputStream out, int type) {
+            this.out = out;
+            this.type = type;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len > 0) {
+                synchronized (out) {
+                    out.writeByte(type);
+                    out.writeInt(len);
+                    out.write(b, off, len);
+                    out.flush();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.cli.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import org.apache.maven.api.Constants;
+import org.apache.maven.cli.MavenCli;
+
+/**
+ * Thin client of the {@link MavenDaemon}: it sends its arguments, working directory, project directory and
+ * environment variables to the daemon, and copies the output of the build to its own standard streams. It only
+ * depends on the JDK, and does not need the Maven class path to start.
+ * <p>
+ * The socket is read from the {@value Constants#MAVEN_DAEMON_SOCKET} system property, and the project directory from
+ * the {@value MavenCli#MULTIMODULE_PROJECT_DIRECTORY} one. When the latter is not set, it is the closest parent of the
+ * working directory holding a <code>.mvn</code> directory, as computed by the <code>mvn</code> script. The
+ * <code>--stop</code> argument stops the daemon instead of running a build.
+ *
+ * @since 4.0.0
+ */
+public final class MavenDaemonClient {
+
+    static final int MAGIC = 0x4d564e44;
+
+    static final int STOP = -1;
+
+    static final int EXIT = 0;
+
+    static final int STDOUT = 1;
+
+    static final int STDERR = 2;
+
+    private MavenDaemonClient() {}
+
+    public static void main(String[] args) {
+        String workingDirectory = System.getProperty("user.dir");
+        String projectDirectory = System.getProperty(MavenCli.MULTIMODULE_PROJECT_DIRECTORY);
+        if (projectDirectory == null) {
+            projectDirectory = projectDirectory(Paths.get(workingDirectory)).toString();
+        }
+        Path socket = socket();
+        int result;
+        try {
+            if (args.length == 1 && "--stop".equals(args[0])) {
+                stop(socket);
+                result = 0;
+            } else {
+                result = execute(
+                        socket,
+                        args,
+                        workingDirectory,
+                        projectDirectory,
+                        System.getenv(),
+                        System.console() != null,
+                        System.out,
+                        System.err);
+            }
+        } catch (IOException e) {
+            System.err.println("Unable to reach the Maven daemon on " + socket + ": " + e.getMessage());
+            result = 1;
+        }
+        System.exit(result);
+    }
+
+    /**
+     * Runs a build in the daemon listening on the given socket, and waits for its end.
+     *
+     * @param socket the socket of the daemon
+     * @param args the arguments of the build
+     * @param workingDirectory the working directory of the build
+     * @param projectDirectory the multi-module project directory of the build
+     * @param environment the environment variables of the build
+     * @param color whether the output may be colored
+     * @param stdout receives the standard output of the build
+     * @param stderr receives the standard error of the build
+     * @return the exit code of the build
+     * @throws IOException if the daemon cannot be reached, or the connection is lost before the end of the build
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public static int execute(
+            Path socket,
+            String[] args,
+            String workingDirectory,
+            String projectDirectory,
+            Map<String, String> environment,
+            boolean color,
+            OutputStream stdout,
+            OutputStream stderr)
+            throws IOException {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeInt(MAGIC);
+            out.writeInt(args.length);
+            for (String arg : args) {
+                writeString(out, arg);
+            }
+            writeString(out, workingDirectory);
+            writeString(out, projectDirectory);
+            out.writeInt(environment.size());
+            for (Map.Entry<String, String> entry : environment.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+            out.writeBoolean(color);
+            out.flush();
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            byte[] buffer = new byte[8192];
+            while (true) {
+                int type = in.read();
+                if (type == EXIT) {
+                    return in.readInt();
+                } else if (type == STDOUT || type == STDERR) {
+                    OutputStream target = type == STDOUT ? stdout : stderr;
+                    int length = in.readInt();
+                    while (length > 0) {
+                        int n = in.read(buffer, 0, Math.min(length, buffer.length));
+                        if (n < 0) {
+                            throw new EOFException("Connection lost before the end of the build");
+                        }
+                        target.write(buffer, 0, n);
+                        length -= n;
+                    }
+                    target.flush();
+                } else if (type < 0) {
+                    throw new EOFException("Connection lost before the end of the build");
+                } else {
+                    throw new IOException("Unexpected frame " + type);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the daemon listening on the given socket, once its current build, if any, is over.
+     *
+     * @param socket the socket of the daemon
+     * @throws IOException if the daemon cannot be reached
+     */
+    public static void stop(Path socket) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+            DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel));
+            out.writeInt(MAGIC);
+            out.writeInt(STOP);
+            out.flush();
+            // wait for the daemon to close the connection
+            Channels.newInputStream(channel).read();
+        }
+    }
+
+    /**
+     * Writes a string of any length, unlike {@link DataOutputStream#writeUTF(String)}.
+     */
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static Path socket() {
+        String socket = System.getProperty(Constants.MAVEN_DAEMON_SOCKET);
+        if (socket != null) {
+            return Paths.get(socket);
+        }
+        String userConf = System.getProperty(
+                Constants.MAVEN_USER_CONF,
+                Paths.get(System.getProperty("user.home"), ".m2").toString());
+        return Paths.get(userConf, "daemon.sock");
+    }
+
+    static Path projectDirectory(Path workingDirectory) {
+        for (Path dir = workingDirectory.toAbsolutePath(); dir != null; dir = dir.getParent()) {
+            if (Files.isDirectory(dir.resolve(".mvn"))) {
+                return dir;
+            }
+        }
+        return workingDirectory.toAbsolutePath();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.cli.daemon;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.cli.MavenCli;
+import org.codehaus.plexus.PlexusContainer;
+import org.codehaus.plexus.classworlds.ClassWorld;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MavenDaemonTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testBuildsReuseTheContainer() throws Exception {
+        Files.writeString(
+                directory.resolve("pom.xml"),
+                "<project xmlns=\"http://maven.apache.org/POM/4.0.0\"><modelVersion>4.0.0</modelVersion>"
+                        + "<groupId>org.apache.maven.its</groupId><artifactId>daemon</artifactId>"
+                        + "<version>1.0</version><packaging>pom</packaging></project>");
+        Path socket = directory.resolve("daemon.sock");
+        AtomicInteger containers = new AtomicInteger();
+        MavenCli cli = new MavenCli(
+                new ClassWorld("plexus.core", Thread.currentThread().getContextClassLoader())) {
+            @Override
+            protected void customizeContainer(PlexusContainer container) {
+                containers.incrementAndGet();
+            }
+        };
+        MavenDaemon daemon = new MavenDaemon(socket, cli);
+        daemon.bind();
+        Thread thread = new Thread(() -> {
+            try (daemon) {
+                daemon.run();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+
+        String[] args = {"-B", "-o", "-Dmaven.repo.local=" + directory.resolve("repository"), "validate"};
+        for (int i = 0; i < 2; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int result = MavenDaemonClient.execute(
+                    socket, args, directory.toString(), directory.toString(), Map.of(), false, out, out);
+            assertEquals(0, result, out::toString);
+            assertTrue(out.toString().contains("BUILD SUCCESS"), out::toString);
+        }
+        assertEquals(1, containers.get());
+
+        MavenDaemonClient.stop(socket);
+        thread.join(10_000);
+        assertFalse(thread.isAlive());
+        assertFalse(Files.exists(socket));
+    }
+
+    @Test
+    void testBuildsUseTheEnvironmentOfTheClient() throws Exception {
+        Path project = directory.resolve("project");
+        Files.createDirectories(project);
+        // each profile adds a missing module, so that the build fails and reports it when the profile is active
+        Files.writeString(
+                project.resolve("pom.xml"),
+                "<project xmlns=\"http://maven.apache.org/POM/4.0.0\"><modelVersion>4.0.0</modelVersion>"
+                        + "<groupId>org.apache.maven.its</groupId><artifactId>daemon</artifactId>"
+                        + "<version>1.0</version><packaging>pom</packaging><profiles>"
+                        + "<profile><id>env</id><activation><property><name>env.DAEMON_TEST</name>"
+                        + "<value>client</value></property></activation><modules><module>env-module</module>"
+                        + "</modules></profile>"
+                        + "<profile><id>dir</id><activation><property><name>user.dir</name>"
+                        + "<value>" + project + "</value></property></activation><modules><module>dir-module</module>"
+                        + "</modules></profile></profiles></project>");
+        Path socket = directory.resolve("daemon.sock");
+        MavenDaemon daemon = new MavenDaemon(
+                socket,
+                new MavenCli(
+                        new ClassWorld("plexus.core", Thread.currentThread().getContextClassLoader())));
+        daemon.bind();
+        if (Files.getFileStore(directory).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(socket));
+        }
+        Thread thread = new Thread(() -> {
+            try (daemon) {
+                daemon.run();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+
+        String[] args = {"-B", "-o", "-Dmaven.repo.local=" + directory.resolve("repository"), "validate"};
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int result = MavenDaemonClient.execute(
+                socket, args, project.toString(), project.toString(), Map.of("DAEMON_TEST", "client"), false, out, out);
+        assertEquals(1, result, out::toString);
+        assertTrue(out.toString().contains("has 2 errors"), out::toString);
+
+        out.reset();
+        result = MavenDaemonClient.execute(
+                socket, args, project.toString(), project.toString(), Map.of(), false, out, out);
+        assertEquals(1, result, out::toString);
+        assertTrue(out.toString().contains("has 1 error"), out::toString);
+
+        MavenDaemonClient.stop(socket);
+        thread.join(10_000);
+        assertFalse(thread.isAlive());
+    }
+
+    @Test
+    void testProjectDirectory() throws Exception {
+        Path project = directory.resolve("project");
+        Path module = project.resolve("module");
+        Files.createDirectories(project.resolve(".mvn"));
+        Files.createDirectories(module);
+        assertEquals(project, MavenDaemonClient.projectDirectory(module));
+        assertEquals(directory, MavenDaemonClient.projectDirectory(directory));
+    }
+}
@@ -25,11 +25,13 @@ public abstract class BaseObject implements Serializable, Cloneable, InputLocati
 
     protected Object delegate;
 
+    private transient ChildrenTracking tracking;
+
     public BaseObject() {}
 
     public BaseObject(Object delegate, BaseObject parent) {
         this.delegate = delegate;
-        this.childrenTracking = parent != null ? parent::replace : null;
+        this.childrenTracking = parent != null ? parent.tracking() : null;
     }
 
     public BaseObject(Object delegate, ChildrenTracking parent) {
@@ -54,6 +56,26 @@ protected boolean replace(Object oldDelegate, Object newDelegate) {
         return false;
     }
 
+    /**
+     * Returns the tracking given to the children of this object, so that they report their changes to it.
+     */
+    protected ChildrenTracking tracking() {
+        ChildrenTracking tracking = this.tracking;
+        if (tracking == null) {
+            tracking = this::replace;
+            this.tracking = tracking;
+        }
+        return tracking;
+    }
+
+    /**
+     * Returns whether the given child still reports its changes to this object, in which case it can be returned
+     * again instead of a new wrapper of the same delegate.
+     */
+    protected boolean isTracking(BaseObject child) {
+        return child.childrenTracking != null && child.childrenTracking == tracking;
+    }
+
     @FunctionalInterface
     protected interface ChildrenTracking {
         boolean replace(Object oldDelegate, Object newDelegate);
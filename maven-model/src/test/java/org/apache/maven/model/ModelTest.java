@@ -23,7 +23,9 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -50,6 +52,64 @@ void testBuild() {
         assertNull(model.getBuild());
     }
 
+    @Test
+    void testWrappersAreReused() {
+        Model model = new Model();
+        Build build = new Build();
+        Plugin plugin = new Plugin();
+        plugin.setArtifactId("my-plugin");
+        build.addPlugin(plugin);
+        model.setBuild(build);
+
+        Build build2 = model.getBuild();
+        assertSame(build2, model.getBuild());
+        assertSame(build2.getPlugins(), model.getBuild().getPlugins());
+        Plugin plugin2 = build2.getPlugins().get(0);
+        assertSame(plugin2, model.getBuild().getPlugins().get(0));
+
+        // changes are still propagated and keep the wrappers
+        plugin2.setVersion("1.0");
+        build2.setOutputDirectory("myOutputDirectory");
+        assertSame(build2, model.getBuild());
+        assertSame(plugin2, model.getBuild().getPlugins().get(0));
+        assertEquals("1.0", model.getDelegate().getBuild().getPlugins().get(0).getVersion());
+        assertEquals("myOutputDirectory", model.getDelegate().getBuild().getOutputDirectory());
+
+        // new wrappers are returned once the delegate is replaced
+        model.setBuild(new Build());
+        assertNotSame(build2, model.getBuild());
+        assertTrue(model.getBuild().getPlugins().isEmpty());
+    }
+
+    @Test
+    void testWrappersSetOnAParentAreReused() {
+        Model model = new Model();
+        Build build = new Build();
+        model.setBuild(build);
+        assertSame(build, model.getBuild());
+
+        build.setOutputDirectory("myOutputDirectory");
+        assertSame(build, model.getBuild());
+        assertEquals("myOutputDirectory", model.getDelegate().getBuild().getOutputDirectory());
+    }
+
+    @Test
+    void testWrappersAreNotReusedWhenTrackedElsewhere() {
+        Model model = new Model();
+        model.setBuild(new Build());
+        Build build = model.getBuild();
+
+        Model other = new Model();
+        other.setBuild(build);
+
+        // the wrapper now reports its changes to the other model
+        Build build2 = model.getBuild();
+        assertNotSame(build, build2);
+        build2.setOutputDirectory("myOutputDirectory");
+        assertEquals("myOutputDirectory", model.getDelegate().getBuild().getOutputDirectory());
+        assertNull(other.getDelegate().getBuild().getOutputDirectory());
+    }
+
     @Test
     void testEqualsNullSafe() {
         assertFalse(new Model().equals(null));
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.model.v4;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.InputLocation;
+import org.apache.maven.api.model.InputSource;
+import org.apache.maven.api.model.Model;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ModelBinaryTest {
+
+    @Test
+    void testRoundtrip() throws Exception {
+        Model model;
+        try (InputStream is = getClass().getResourceAsStream("/xml/pom.xml")) {
+            model = new MavenStaxReader().read(is, true, new InputSource("org.apache:test:1.0", "pom.xml"));
+        }
+
+        Model read = fromBinary(toBinary(model));
+
+        assertEquals(toXml(model), toXml(read));
+        assertEquals(model.getNamespaceUri(), read.getNamespaceUri());
+        assertEquals(model.getModelEncoding(), read.getModelEncoding());
+        assertLocation(model.getLocation("artifactId"), read.getLocation("artifactId"));
+        assertLocation(
+                model.getBuild().getPlugins().get(0).getLocation(""),
+                read.getBuild().getPlugins().get(0).getLocation(""));
+        assertEquals(
+                model.getBuild().getPlugins().get(0).getConfiguration(),
+                read.getBuild().getPlugins().get(0).getConfiguration());
+        // sources and repeated strings are shared in the result as in the original
+        assertSame(
+                read.getLocation("artifactId").getSource(),
+                read.getLocation("name").getSource());
+    }
+
+    @Test
+    void testRoundtripMergedLocations() throws Exception {
+        InputSource parent = new InputSource("org.apache:parent:1.0", "parent/pom.xml");
+        InputSource child = new InputSource("org.apache:child:1.0", "child/pom.xml");
+        InputLocation parentLocation = new InputLocation(3, 5, parent, 0);
+        InputLocation childLocation = new InputLocation(7, 9, child, 0);
+        InputLocation merged = InputLocation.merge(childLocation, parentLocation, true);
+        Model model = Model.newBuilder()
+                .dependencies(List.of(Dependency.newBuilder()
+                        .groupId("g")
+                        .artifactId("a")
+                        .location("", merged)
+                        .build()))
+                .location("dependencies", merged)
+                .build();
+
+        Model read = fromBinary(toBinary(model));
+
+        InputLocation location = read.getLocation("dependencies");
+        assertNotNull(location);
+        assertSame(location, read.getDependencies().get(0).getLocation(""));
+        assertLocation(merged, location);
+        assertEquals(merged.getSource(), location.getSource());
+        assertEquals(2, location.getSource().getInputs().size());
+        assertLocation(merged.getLocation(0), location.getLocation(0));
+    }
+
+    @Test
+    void testRejectsOtherStreams() {
+        assertThrows(IOException.class, () -> fromBinary(new byte[] {0, 1, 2, 3, 4, 5, 6, 7}));
+    }
+
+    private static void assertLocation(InputLocation expected, InputLocation actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getLineNumber(), actual.getLineNumber());
+        assertEquals(expected.getColumnNumber(), actual.getColumnNumber());
+        assertEquals(expected.getSource(), actual.getSource());
+        assertEquals(expected.getLocations().keySet(), actual.getLocations().keySet());
+    }
+
+    private static byte[] toBinary(Model model) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new MavenBinaryWriter().write(out, model);
+        return out.toByteArray();
+    }
+
+    private static Model fromBinary(byte[] bytes) throws IOException {
+        return new MavenBinaryReader().read(new ByteArrayInputStream(bytes));
+    }
+
+    private static String toXml(Model model) throws Exception {
+        StringWriter sw = new StringWriter();
+        new MavenStaxWriter().write(sw, model);
+        return sw.toString();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.model.v4;
+
+import java.io.InputStream;
+
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.InputLocation;
+import org.apache.maven.api.model.InputSource;
+import org.apache.maven.api.model.Model;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelLocationsTest {
+
+    private static Model read(boolean addLocationInformation) throws Exception {
+        try (InputStream is = ModelLocationsTest.class.getResourceAsStream("/xml/pom.xml")) {
+            MavenStaxReader reader = new MavenStaxReader();
+            reader.setAddLocationInformation(addLocationInformation);
+            return reader.read(is, true, new InputSource("org.apache.maven:maven-model", "pom.xml"));
+        }
+    }
+
+    @Test
+    void testLocations() throws Exception {
+        Model model = read(true);
+
+        assertNotNull(model.getLocation(""));
+        assertEquals(27, model.getParent().getLocation("artifactId").getLineNumber());
+        assertEquals(31, model.getLocation("artifactId").getLineNumber());
+        // dependencies is declared by the ModelBase super class
+        assertEquals(36, model.getLocation("dependencies").getLineNumber());
+        assertNull(model.getLocation("unknown"));
+        assertNull(model.getLocation(0));
+        assertTrue(model.getLocationKeys().contains("dependencies"));
+        assertTrue(model.getLocationKeys().contains("artifactId"));
+    }
+
+    @Test
+    void testLocationsAreKeptByCopies() throws Exception {
+        Model model = read(true);
+        InputLocation artifactId = model.getLocation("artifactId");
+
+        Model copy = model.withDescription("changed");
+        assertSame(artifactId, copy.getLocation("artifactId"));
+
+        InputLocation location = new InputLocation(1, 2);
+        Model relocated = Model.newBuilder(model, true)
+                .artifactId("other")
+                .location("artifactId", location)
+                .build();
+        assertSame(location, relocated.getLocation("artifactId"));
+        assertSame(model.getLocation("dependencies"), relocated.getLocation("dependencies"));
+        assertSame(artifactId, model.getLocation("artifactId"));
+    }
+
+    @Test
+    void testNoLocationTracking() throws Exception {
+        Model model = read(false);
+
+        assertEquals("maven-model", model.getArtifactId());
+        assertNull(model.getLocation(""));
+        assertNull(model.getLocation("artifactId"));
+        for (Dependency dependency : model.getDependencies()) {
+            assertNull(dependency.getLocation("artifactId"));
+        }
+    }
+}
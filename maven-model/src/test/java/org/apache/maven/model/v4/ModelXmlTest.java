@@ -25,6 +25,7 @@
 import java.io.StringWriter;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.maven.api.model.Model;
 import org.apache.maven.api.model.Plugin;
@@ -34,6 +35,8 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class ModelXmlTest {
 
@@ -86,6 +89,47 @@ void testNamespaceInXmlNode() throws XMLStreamException {
         assertFalse(config.isEmpty());
     }
 
+    @Test
+    void testStringPool() throws XMLStreamException {
+        String xml = "<project>\n"
+                + "  <groupId>org.apache.maven</groupId>\n"
+                + "  <properties><encoding> UTF-8 </encoding></properties>\n"
+                + "  <build>\n"
+                + "    <plugins>\n"
+                + "      <plugin>\n"
+                + "        <groupId>org.apache.maven</groupId>\n"
+                + "        <configuration><encoding kind=\"charset\">UTF-8</encoding></configuration>\n"
+                + "      </plugin>\n"
+                + "    </plugins>\n"
+                + "  </build>\n"
+                + "</project>";
+        Map<String, String> strings = new ConcurrentHashMap<>();
+        MavenStaxReader reader = new MavenStaxReader();
+        reader.setStringPool(s -> strings.computeIfAbsent(s, k -> k));
+
+        Model first = reader.read(new StringReader(xml));
+        Model second = reader.read(new StringReader(xml));
+        assertEquals("org.apache.maven", first.getGroupId());
+        assertSame(first.getGroupId(), second.getGroupId());
+        assertSame(first.getGroupId(), first.getBuild().getPlugins().get(0).getGroupId());
+        assertEquals("UTF-8", first.getProperties().get("encoding"));
+        XmlNode encoding =
+                first.getBuild().getPlugins().get(0).getConfiguration().getChild("encoding");
+        assertSame(first.getProperties().get("encoding"), encoding.getValue());
+        assertSame(
+                encoding.getAttribute("kind"),
+                second.getBuild()
+                        .getPlugins()
+                        .get(0)
+                        .getConfiguration()
+                        .getChild("encoding")
+                        .getAttribute("kind"));
+
+        Model unpooled = fromXml(xml);
+        assertEquals(first.getGroupId(), unpooled.getGroupId());
+        assertNotSame(first.getGroupId(), unpooled.getGroupId());
+    }
+
     String toXml(Model model) throws IOException, XMLStreamException {
         StringWriter sw = new StringWriter();
         MavenStaxWriter writer = new MavenStaxWriter();
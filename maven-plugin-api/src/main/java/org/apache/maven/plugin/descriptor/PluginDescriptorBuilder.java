@@ -50,6 +50,10 @@ public class PluginDescriptorBuilder {
     public static final String PLUGIN_2_0_0 = "http://maven.apache.org/PLUGIN/2.0.0";
     private static final int BUFFER_SIZE = 8192;
 
+    /** Shared by all builds: looking up a factory for each descriptor is costly and factories are thread-safe. */
+    private static final XMLInputFactory FACTORY =
+            XMLInputFactory.newFactory(XMLInputFactory.class.getName(), PluginDescriptorBuilder.class.getClassLoader());
+
     public interface StreamSupplier {
         InputStream open() throws IOException;
     }
@@ -81,11 +85,11 @@ public PluginDescriptor build(ReaderSupplier readerSupplier) throws PlexusConfig
     public PluginDescriptor build(ReaderSupplier readerSupplier, String source) throws PlexusConfigurationException {
         try (BufferedReader br = new BufferedReader(readerSupplier.open(), BUFFER_SIZE)) {
             br.mark(BUFFER_SIZE);
-            XMLStreamReader xsr = XMLInputFactory.newFactory().createXMLStreamReader(br);
+            XMLStreamReader xsr = FACTORY.createXMLStreamReader(br);
             xsr.nextTag();
             String nsUri = xsr.getNamespaceURI();
             try (BufferedReader br2 = reset(readerSupplier, br)) {
-                xsr = XMLInputFactory.newFactory().createXMLStreamReader(br2);
+                xsr = FACTORY.createXMLStreamReader(br2);
                 return build(source, nsUri, xsr);
             }
         } catch (XMLStreamException | IOException e) {
@@ -108,11 +112,11 @@ public PluginDescriptor build(StreamSupplier inputSupplier) throws PlexusConfigu
     public PluginDescriptor build(StreamSupplier inputSupplier, String source) throws PlexusConfigurationException {
         try (BufferedInputStream bis = new BufferedInputStream(inputSupplier.open(), BUFFER_SIZE)) {
             bis.mark(BUFFER_SIZE);
-            XMLStreamReader xsr = XMLInputFactory.newFactory().createXMLStreamReader(bis);
+            XMLStreamReader xsr = FACTORY.createXMLStreamReader(bis);
             xsr.nextTag();
             String nsUri = xsr.getNamespaceURI();
             try (BufferedInputStream bis2 = reset(inputSupplier, bis)) {
-                xsr = XMLInputFactory.newFactory().createXMLStreamReader(bis2);
+                xsr = FACTORY.createXMLStreamReader(bis2);
                 return build(source, nsUri, xsr);
             }
         } catch (XMLStreamException | IOException e) {
@@ -146,11 +150,24 @@ private PluginDescriptor build(String source, String nsUri, XMLStreamReader xsr)
             return new PluginDescriptor(pd);
         } else {
             XmlNode node = XmlNodeStaxBuilder.build(xsr, true, null);
-            PlexusConfiguration cfg = XmlPlexusConfiguration.toPlexusConfiguration(node);
-            return build(source, cfg);
+            return build(node, source);
         }
     }
 
+    /**
+     * Builds the plugin descriptor from the already parsed XML tree of a descriptor which is not in the
+     * {@value #PLUGIN_2_0_0} format.
+     *
+     * @param node the root node of the descriptor
+     * @param source the location of the descriptor, may be {@code null}
+     * @return the plugin descriptor
+     * @throws PlexusConfigurationException if the descriptor is invalid
+     * @since 4.0.0
+     */
+    public PluginDescriptor build(XmlNode node, String source) throws PlexusConfigurationException {
+        return build(source, XmlPlexusConfiguration.toPlexusConfiguration(node));
+    }
+
     private PluginDescriptor build(String source, PlexusConfiguration c) throws PlexusConfigurationException {
         PluginDescriptor pluginDescriptor = new PluginDescriptor();
 
@@ -470,7 +487,7 @@ public MojoDescriptor buildComponentDescriptor(PlexusConfiguration c, PluginDesc
 
     public PlexusConfiguration buildConfiguration(Reader configuration) throws PlexusConfigurationException {
         try {
-            XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(configuration);
+            XMLStreamReader reader = FACTORY.createXMLStreamReader(configuration);
             return XmlPlexusConfiguration.toPlexusConfiguration(XmlNodeStaxBuilder.build(reader, true, null));
         } catch (XMLStreamException e) {
             throw new PlexusConfigurationException(e.getMessage(), e);
@@ -479,7 +496,7 @@ public PlexusConfiguration buildConfiguration(Reader configuration) throws Plexu
 
     public PlexusConfiguration buildConfiguration(InputStream configuration) throws PlexusConfigurationException {
         try {
-            XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(configuration);
+            XMLStreamReader reader = FACTORY.createXMLStreamReader(configuration);
             return XmlPlexusConfiguration.toPlexusConfiguration(XmlNodeStaxBuilder.build(reader, true, null));
         } catch (XMLStreamException e) {
             throw new PlexusConfigurationException(e.getMessage(), e);
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugin.descriptor.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.StringWriter;
+
+import org.apache.maven.api.plugin.descriptor.PluginDescriptor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PluginDescriptorBinaryTest {
+
+    @Test
+    void testRoundtrip() throws Exception {
+        PluginDescriptor descriptor;
+        try (InputStream is = getClass().getResourceAsStream("/plugin.xml")) {
+            descriptor = new PluginDescriptorStaxReader().read(is, false);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new PluginDescriptorBinaryWriter().write(out, descriptor);
+        PluginDescriptor read = new PluginDescriptorBinaryReader().read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(toXml(descriptor), toXml(read));
+        assertEquals(2, read.getMojos().size());
+        assertEquals("maven-jar-plugin", read.getArtifactId());
+    }
+
+    private static String toXml(PluginDescriptor descriptor) throws Exception {
+        StringWriter sw = new StringWriter();
+        new PluginDescriptorStaxWriter().write(sw, descriptor);
+        return sw.toString();
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.slf4j;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.event.Level;
+import org.slf4j.helpers.Reporter;
+import org.slf4j.simple.ExtSimpleLogger;
+import org.slf4j.simple.SimpleLogger;
+
+/**
+ * Writes log messages on a dedicated thread, so that build threads do not contend on the output stream nor wait for
+ * a slow terminal or log pipe.
+ * <p>
+ * Messages are rendered on the calling thread and handed over through a bounded ring buffer, which loggers append to
+ * without taking any lock. A single thread writes them in order, and flushes the stream whenever the buffer runs
+ * empty. When the buffer is full, the {@link Policy} decides whether the caller waits or whether its message is
+ * discarded. Errors, and messages carrying an exception, are never discarded: the caller waits until they and all the
+ * messages before them have been written, so that they are visible even if the build fails right after.
+ */
+final class AsyncLogWriter {
+
+    /**
+     * Enables the asynchronous writer, {@code false} by default.
+     */
+    static final String ASYNC_KEY = SimpleLogger.SYSTEM_PREFIX + "async";
+
+    /**
+     * The number of messages the ring buffer holds, rounded up to a power of two.
+     */
+    static final String BUFFER_SIZE_KEY = SimpleLogger.SYSTEM_PREFIX + "async.bufferSize";
+
+    /**
+     * What happens to a message when the ring buffer is full: {@code block} or {@code discard}.
+     */
+    static final String POLICY_KEY = SimpleLogger.SYSTEM_PREFIX + "async.policy";
+
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private static final int MAX_BUFFER_SIZE = 1 << 30;
+
+    /**
+     * What to do with a message which does not fit in the ring buffer.
+     */
+    enum Policy {
+        /**
+         * Wait until the writer thread makes room for the message.
+         */
+        BLOCK,
+        /**
+         * Drop messages below the {@code WARN} level, and count them so that the loss is reported.
+         */
+        DISCARD
+    }
+
+    private static final long WAIT_NANOS = 50_000;
+
+    private final Event[] slots;
+
+    /**
+     * For each slot, the position it can next be written at, or that position plus one once it has been written.
+     */
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    private final Policy policy;
+
+    /**
+     * The next position claimed by a logger.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * The highest position a caller waits for.
+     */
+    private final AtomicLong flushRequest = new AtomicLong();
+
+    private final AtomicLong discarded = new AtomicLong();
+
+    private final Thread thread;
+
+    private final Thread shutdownHook;
+
+    /**
+     * The next position read by the writer thread, only used by that thread.
+     */
+    private long head;
+
+    /**
+     * Whether the writer thread wrote messages that have not been flushed yet.
+     */
+    private boolean dirty;
+
+    /**
+     * The position up to which messages have been written and flushed.
+     */
+    private volatile long written;
+
+    private volatile boolean waiting;
+
+    private volatile boolean closed;
+
+    AsyncLogWriter(int bufferSize, Policy policy) {
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize) - 1) << 1;
+        this.slots = new Event[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = capacity - 1;
+        this.policy = policy;
+        this.thread = new Thread(this::run, "maven-logger");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        this.shutdownHook = new Thread(this::flush, "maven-logger-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Creates the writer configured by the {@value #ASYNC_KEY} property.
+     *
+     * @return the writer, or {@code null} if messages are to be written synchronously
+     */
+    static AsyncLogWriter fromConfiguration() {
+        if (!Boolean.parseBoolean(ExtSimpleLogger.getConfigProperty(ASYNC_KEY, "false"))) {
+            return null;
+        }
+        return new AsyncLogWriter(getBufferSize(), getPolicy());
+    }
+
+    /**
+     * Reads the {@value #BUFFER_SIZE_KEY} property, an invalid value is reported and replaced by the default.
+     */
+    private static int getBufferSize() {
+        String value = ExtSimpleLogger.getConfigProperty(BUFFER_SIZE_KEY, null);
+        if (value != null) {
+            try {
+                int bufferSize = Integer.parseInt(value.trim());
+                if (bufferSize > 0 && bufferSize <= MAX_BUFFER_SIZE) {
+                    return bufferSize;
+                }
+            } catch (NumberFormatException e) {
+                // reported below
+            }
+            Reporter.warn("Invalid value '" + value + "' for " + BUFFER_SIZE_KEY + ", using " + DEFAULT_BUFFER_SIZE);
+        }
+        return DEFAULT_BUFFER_SIZE;
+    }
+
+    /**
+     * Reads the {@value #POLICY_KEY} property, an invalid value is reported and replaced by the default.
+     */
+    private static Policy getPolicy() {
+        String value = ExtSimpleLogger.getConfigProperty(POLICY_KEY, null);
+        if (value != null) {
+            try {
+                return Policy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                Reporter.warn("Invalid value '" + value + "' for " + POLICY_KEY + ", using "
+                        + Policy.BLOCK.name().toLowerCase(Locale.ROOT));
+            }
+        }
+        return Policy.BLOCK;
+    }
+
+    /**
+     * Hands a message over to the writer thread.
+     *
+     * @param logger the logger rendering the exception
+     * @param stream the stream to write the message to
+     * @param message the rendered message
+     * @param throwable the exception to write after the message, may be {@code null}
+     * @param level the level of the message, {@code null} if it is below {@code WARN}
+     * @return {@code false} if the message has not been accepted and should be written by the caller
+     */
+    boolean write(MavenSimpleLogger logger, PrintStream stream, String message, Throwable throwable, Level level) {
+        if (closed || Thread.currentThread() == thread) {
+            return false;
+        }
+        boolean important = throwable != null || level == Level.ERROR;
+        Event event = new Event(logger, stream, message, throwable);
+        long position = offer(event);
+        while (position < 0) {
+            if (level == null && throwable == null && policy == Policy.DISCARD) {
+                discarded.incrementAndGet();
+                return true;
+            }
+            if (closed || !thread.isAlive()) {
+                return false;
+            }
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(WAIT_NANOS);
+            position = offer(event);
+        }
+        if (waiting) {
+            LockSupport.unpark(thread);
+        }
+        if (important) {
+            await(position + 1);
+        }
+        return true;
+    }
+
+    /**
+     * Waits until all the messages handed over so far have been written and flushed.
+     */
+    void flush() {
+        if (Thread.currentThread() != thread) {
+            await(tail.get());
+        }
+    }
+
+    /**
+     * Writes the pending messages and stops the writer thread. Later messages are left to the callers.
+     */
+    void close() {
+        flush();
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // already shutting down
+        }
+    }
+
+    /**
+     * Claims the next free slot and publishes the event in it.
+     *
+     * @return the position of the event, or {@code -1} if the buffer is full
+     */
+    private long offer(Event event) {
+        long position = tail.get();
+        for (; ; ) {
+            int index = (int) position & mask;
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = event;
+                    sequences.set(index, position + 1);
+                    return position;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                return -1;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Waits until the messages before the given position have been written and flushed. Visible for testing.
+     */
+    void await(long position) {
+        flushRequest.accumulateAndGet(position, Math::max);
+        while (written < position && thread.isAlive()) {
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+    }
+
+    private void run() {
+        PrintStream last = null;
+        while (!closed || head < tail.get()) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                waiting = true;
+                if (sequences.get(index) != head + 1) {
+                    last = flush(last);
+                    LockSupport.parkNanos(this, 10_000_000);
+                }
+                waiting = false;
+                continue;
+            }
+            Event event = slots[index];
+            slots[index] = null;
+            sequences.set(index, head + slots.length);
+            head++;
+            if (last != null && last != event.stream) {
+                last.flush();
+            }
+            last = event.stream;
+            dirty = true;
+            try {
+                event.stream.println(event.message);
+                event.logger.writeThrowable(event.throwable, event.stream);
+            } catch (RuntimeException e) {
+                // keep on writing the next messages
+            }
+            long requested = flushRequest.get();
+            if (written < requested && head >= requested) {
+                last = flush(last);
+            }
+        }
+        flush(last);
+    }
+
+    private PrintStream flush(PrintStream last) {
+        if (last != null && discarded.get() > 0) {
+            last.println(discarded.getAndSet(0) + " log messages have been discarded, the log buffer was full");
+            dirty = true;
+        }
+        if (dirty) {
+            last.flush();
+            dirty = false;
+        }
+        written = head;
+        return last;
+    }
+
+    private record Event(MavenSimpleLogger logger, PrintStream stream, String message, Throwable throwable) {}
+}
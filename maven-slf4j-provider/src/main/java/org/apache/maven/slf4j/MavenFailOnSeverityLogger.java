@@ -28,8 +28,8 @@
 public class MavenFailOnSeverityLogger extends MavenSimpleLogger {
     private final LogLevelRecorder logLevelRecorder;
 
-    MavenFailOnSeverityLogger(String name, LogLevelRecorder logLevelRecorder) {
-        super(name);
+    MavenFailOnSeverityLogger(String name, LogLevelRecorder logLevelRecorder, AsyncLogWriter asyncWriter) {
+        super(name, asyncWriter);
         this.logLevelRecorder = logLevelRecorder;
     }
 
@@ -18,20 +18,29 @@
  */
 package org.apache.maven.slf4j;
 
+import java.io.Flushable;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.apache.maven.logwrapper.LogLevelRecorder;
 import org.apache.maven.logwrapper.MavenSlf4jWrapperFactory;
 import org.slf4j.Logger;
+import org.slf4j.simple.ExtSimpleLogger;
 import org.slf4j.simple.SimpleLoggerFactory;
 
 /**
  * LogFactory for Maven which can create a simple logger or one which, if set, fails the build on a severity threshold.
+ * The loggers write their messages from a background thread when {@code org.slf4j.simpleLogger.async} is set, in which
+ * case {@link #flush()} waits until the messages logged so far have been written.
  */
-public class MavenLoggerFactory extends SimpleLoggerFactory implements MavenSlf4jWrapperFactory {
+public class MavenLoggerFactory extends SimpleLoggerFactory implements MavenSlf4jWrapperFactory, Flushable {
     private LogLevelRecorder logLevelRecorder = null;
 
-    public MavenLoggerFactory() {}
+    private volatile AsyncLogWriter asyncWriter;
+
+    public MavenLoggerFactory() {
+        asyncWriter = AsyncLogWriter.fromConfiguration();
+    }
 
     @Override
     public void setLogLevelRecorder(LogLevelRecorder logLevelRecorder) {
@@ -47,11 +56,37 @@ public Optional<LogLevelRecorder> getLogLevelRecorder() {
         return Optional.ofNullable(logLevelRecorder);
     }
 
+    @Override
+    public boolean setLogSink(Consumer<String> logSink) {
+        MavenSimpleLogger.setLogSink(logSink);
+        return true;
+    }
+
+    @Override
+    public void flush() {
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    protected void reset() {
+        super.reset();
+        // the configuration may have been reloaded: keep the running writer, if still enabled, for existing loggers
+        if (asyncWriter == null) {
+            asyncWriter = AsyncLogWriter.fromConfiguration();
+        } else if (!Boolean.parseBoolean(ExtSimpleLogger.getConfigProperty(AsyncLogWriter.ASYNC_KEY, "false"))) {
+            asyncWriter.close();
+            asyncWriter = null;
+        }
+    }
+
     protected Logger createLogger(String name) {
         if (logLevelRecorder == null) {
-            return new MavenSimpleLogger(name);
+            return new MavenSimpleLogger(name, asyncWriter);
         } else {
-            return new MavenFailOnSeverityLogger(name, logLevelRecorder);
+            return new MavenFailOnSeverityLogger(name, logLevelRecorder, asyncWriter);
         }
     }
 }
@@ -18,10 +18,14 @@
  */
 package org.apache.maven.slf4j;
 
+import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.function.Consumer;
 
 import org.apache.maven.api.services.MessageBuilder;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
 import org.slf4j.simple.ExtSimpleLogger;
 
 import static org.apache.maven.jline.MessageUtils.builder;
@@ -40,14 +44,27 @@ public class MavenSimpleLogger extends ExtSimpleLogger {
     private String warnRenderedLevel;
     private String errorRenderedLevel;
 
-    static Consumer<String> logSink;
+    static volatile Consumer<String> logSink;
+
+    /**
+     * The level of the message being logged by the current thread, when it is {@code WARN} or above and messages are
+     * written asynchronously.
+     */
+    private static final ThreadLocal<Level> LEVEL = new ThreadLocal<>();
+
+    private final AsyncLogWriter asyncWriter;
 
     public static void setLogSink(Consumer<String> logSink) {
         MavenSimpleLogger.logSink = logSink;
     }
 
     MavenSimpleLogger(String name) {
+        this(name, null);
+    }
+
+    MavenSimpleLogger(String name, AsyncLogWriter asyncWriter) {
         super(name);
+        this.asyncWriter = asyncWriter;
     }
 
     @Override
@@ -74,12 +91,38 @@ protected String renderLevel(int level) {
         }
     }
 
+    @Override
+    protected void handleNormalizedLoggingCall(
+            Level level, Marker marker, String messagePattern, Object[] arguments, Throwable throwable) {
+        if (asyncWriter != null && level.toInt() >= LOG_LEVEL_WARN) {
+            LEVEL.set(level);
+            try {
+                super.handleNormalizedLoggingCall(level, marker, messagePattern, arguments, throwable);
+            } finally {
+                LEVEL.remove();
+            }
+        } else {
+            super.handleNormalizedLoggingCall(level, marker, messagePattern, arguments, throwable);
+        }
+    }
+
     @Override
     protected void doWrite(StringBuilder buf, Throwable t) {
         Consumer<String> sink = logSink;
         if (sink != null) {
-            sink.accept(buf.toString());
-        } else {
+            if (t != null) {
+                ByteArrayOutputStream stackTrace = new ByteArrayOutputStream();
+                PrintStream stream = new PrintStream(stackTrace, true, StandardCharsets.UTF_8);
+                stream.println(buf);
+                writeThrowable(t, stream);
+                // the sink terminates each message
+                String message = stackTrace.toString(StandardCharsets.UTF_8);
+                sink.accept(message.substring(
+                        0, message.length() - System.lineSeparator().length()));
+            } else {
+                sink.accept(buf.toString());
+            }
+        } else if (asyncWriter == null || !asyncWriter.write(this, getTargetStream(), buf.toString(), t, LEVEL.get())) {
             super.doWrite(buf, t);
         }
     }
@@ -18,6 +18,8 @@
  */
 package org.slf4j.simple;
 
+import java.io.PrintStream;
+
 /**
  * Class inheriting SimpleLogger to work around the fact that the {@link #write(StringBuilder, Throwable)}
  * method is package private.
@@ -36,4 +38,19 @@ void write(StringBuilder buf, Throwable t) {
     protected void doWrite(StringBuilder buf, Throwable t) {
         super.write(buf, t);
     }
+
+    /**
+     * Returns the stream messages are currently written to.
+     */
+    protected PrintStream getTargetStream() {
+        return CONFIG_PARAMS.outputChoice.getTargetPrintStream();
+    }
+
+    /**
+     * Returns a property from the system properties or from {@code simplelogger.properties}.
+     */
+    public static String getConfigProperty(String name, String defaultValue) {
+        lazyInit();
+        return CONFIG_PARAMS.getStringProperty(name, defaultValue);
+    }
 }
@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncLogWriterTest {
+
+    private final MavenSimpleLogger logger = new MavenSimpleLogger("logger");
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    private AsyncLogWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        writer.close();
+    }
+
+    @Test
+    void writesMessagesOfEachThreadInOrder() throws Exception {
+        writer = new AsyncLogWriter(16, AsyncLogWriter.Policy.BLOCK);
+        PrintStream stream = new PrintStream(output, false, UTF_8);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String prefix = "t" + t + " ";
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    assertTrue(writer.write(logger, stream, prefix + i, null, null));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writer.flush();
+
+        List<String> lines = lines();
+        assertThat(lines, hasSize(4000));
+        for (int t = 0; t < 4; t++) {
+            String prefix = "t" + t + " ";
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                expected.add(prefix + i);
+            }
+            assertEquals(
+                    expected, lines.stream().filter(l -> l.startsWith(prefix)).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void errorsAreWrittenBeforeReturning() {
+        writer = new AsyncLogWriter(16, AsyncLogWriter.Policy.BLOCK);
+        PrintStream stream = new PrintStream(output, false, UTF_8);
+
+        writer.write(logger, stream, "info", null, null);
+        writer.write(logger, stream, "error", null, Level.ERROR);
+
+        assertThat(lines(), contains("info", "error"));
+    }
+
+    @Test
+    void flushesPositionsAlreadyPassedWhileAnotherThreadKeepsLogging() throws Exception {
+        writer = new AsyncLogWriter(16, AsyncLogWriter.Policy.BLOCK);
+        AtomicBoolean busy = new AtomicBoolean(true);
+        Semaphore requested = new Semaphore(0);
+        Semaphore produced = new Semaphore(0);
+        CountDownLatch passed = new CountDownLatch(3);
+        PrintStream stream = new PrintStream(
+                new OutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        write(new byte[] {(byte) b}, 0, 1);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) {
+                        output.write(b, off, len);
+                        if (busy.get() && new String(b, off, len, UTF_8).startsWith("info")) {
+                            passed.countDown();
+                            // the producer logs the next message before this one is done, the buffer never runs empty
+                            requested.release();
+                            produced.acquireUninterruptibly();
+                        }
+                    }
+                },
+                false,
+                UTF_8);
+        Thread producer = new Thread(() -> {
+            try {
+                while (busy.get()) {
+                    if (requested.tryAcquire(10, TimeUnit.MILLISECONDS)) {
+                        writer.write(logger, stream, "info", null, null);
+                        produced.release();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        try {
+            writer.write(logger, stream, "info", null, null);
+            passed.await();
+            // the writer went past the second message before the request is published
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> writer.await(2));
+        } finally {
+            busy.set(false);
+            producer.join();
+            produced.release(16);
+        }
+    }
+
+    @Test
+    void discardsOnlyMessagesBelowWarnWhenFull() throws Exception {
+        writer = new AsyncLogWriter(2, AsyncLogWriter.Policy.DISCARD);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PrintStream stream = new PrintStream(
+                new OutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        write(new byte[] {(byte) b}, 0, 1);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        started.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            throw new IOException(e);
+                        }
+                        output.write(b, off, len);
+                    }
+                },
+                false,
+                UTF_8);
+
+        writer.write(logger, stream, "first", null, null);
+        started.await();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(writer.write(logger, stream, "info " + i, null, null));
+        }
+        Thread warning = new Thread(() -> writer.write(logger, stream, "warning", null, Level.WARN));
+        warning.start();
+        release.countDown();
+        warning.join();
+        writer.flush();
+
+        List<String> lines = lines();
+        assertThat(lines, hasItem("warning"));
+        assertThat(lines.stream().filter(l -> l.startsWith("info ")).count(), lessThan(10L));
+        assertTrue(
+                lines.stream().anyMatch(l -> l.endsWith("log messages have been discarded, the log buffer was full")));
+    }
+
+    @Test
+    void leavesMessagesToTheCallerOnceClosed() {
+        writer = new AsyncLogWriter(16, AsyncLogWriter.Policy.BLOCK);
+        PrintStream stream = new PrintStream(output, false, UTF_8);
+
+        writer.write(logger, stream, "before", null, null);
+        writer.close();
+
+        assertFalse(writer.write(logger, stream, "after", null, null));
+        assertThat(lines(), contains("before"));
+    }
+
+    @Test
+    void invalidSettingsFallBackToTheDefaults() {
+        PrintStream err = System.err;
+        ByteArrayOutputStream reported = new ByteArrayOutputStream();
+        System.setProperty(AsyncLogWriter.ASYNC_KEY, "true");
+        System.setProperty(AsyncLogWriter.BUFFER_SIZE_KEY, "8k");
+        System.setProperty(AsyncLogWriter.POLICY_KEY, "drop");
+        try {
+            System.setErr(new PrintStream(reported, true, UTF_8));
+            writer = AsyncLogWriter.fromConfiguration();
+        } finally {
+            System.setErr(err);
+            System.clearProperty(AsyncLogWriter.ASYNC_KEY);
+            System.clearProperty(AsyncLogWriter.BUFFER_SIZE_KEY);
+            System.clearProperty(AsyncLogWriter.POLICY_KEY);
+        }
+
+        assertNotNull(writer);
+        String message = reported.toString(UTF_8);
+        assertThat(message, containsString("'8k' for " + AsyncLogWriter.BUFFER_SIZE_KEY));
+        assertThat(message, containsString("'drop' for " + AsyncLogWriter.POLICY_KEY));
+    }
+
+    private List<String> lines() {
+        return Arrays.asList(output.toString(UTF_8).split(System.lineSeparator()));
+    }
+}
@@ -18,12 +18,18 @@
  */
 package org.apache.maven.slf4j;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.maven.logwrapper.LogLevelRecorder;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.endsWith;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
@@ -85,4 +91,24 @@ void failOnSeverityThresholdCanOnlyBeSetOnce() {
                 IllegalStateException.class,
                 () -> mavenLoggerFactory.setLogLevelRecorder(new LogLevelRecorder("ERROR")));
     }
+
+    @Test
+    void passesMessagesWithTheirStackTraceToTheLogSink() {
+        MavenLoggerFactory mavenLoggerFactory = new MavenLoggerFactory();
+        List<String> messages = new ArrayList<>();
+        assertTrue(mavenLoggerFactory.setLogSink(messages::add));
+        try {
+            Logger logger = mavenLoggerFactory.getLogger("Test");
+            logger.info("plain");
+            logger.error("failed", new IllegalStateException("boom"));
+        } finally {
+            mavenLoggerFactory.setLogSink(null);
+        }
+
+        assertEquals(2, messages.size());
+        assertThat(messages.get(0), endsWith("plain"));
+        String[] lines = messages.get(1).split(System.lineSeparator());
+        assertThat(lines[0], endsWith("failed"));
+        assertThat(lines[1], containsString("java.lang.IllegalStateException: boom"));
+    }
 }
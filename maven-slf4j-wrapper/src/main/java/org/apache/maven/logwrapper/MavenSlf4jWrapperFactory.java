@@ -19,6 +19,7 @@
 package org.apache.maven.logwrapper;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.slf4j.ILoggerFactory;
 
@@ -29,4 +30,16 @@ public interface MavenSlf4jWrapperFactory extends ILoggerFactory {
     void setLogLevelRecorder(LogLevelRecorder logLevelRecorder);
 
     Optional<LogLevelRecorder> getLogLevelRecorder();
+
+    /**
+     * Redirects the output of the loggers: each rendered message, followed by the stack trace of its exception if any,
+     * is passed to the given sink on the logging thread instead of being written to the configured output.
+     *
+     * @param logSink the sink, or {@code null} to write to the configured output again
+     * @return {@code false} if the output of the loggers cannot be redirected
+     * @since 4.0.0
+     */
+    default boolean setLogSink(Consumer<String> logSink) {
+        return false;
+    }
 }
@@ -28,6 +28,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.UnaryOperator;
 
 import org.apache.maven.api.xml.XmlNode;
 
@@ -38,14 +39,18 @@
 public class XmlNodeStaxBuilder {
     private static final boolean DEFAULT_TRIM = true;
 
+    /** Shared by all builds: looking up a factory for each document is costly and factories are thread-safe. */
+    private static final XMLInputFactory FACTORY =
+            XMLInputFactory.newFactory(XMLInputFactory.class.getName(), XmlNodeStaxBuilder.class.getClassLoader());
+
     public static XmlNodeImpl build(InputStream stream, InputLocationBuilderStax locationBuilder)
             throws XMLStreamException {
-        XMLStreamReader parser = XMLInputFactory.newFactory().createXMLStreamReader(stream);
+        XMLStreamReader parser = FACTORY.createXMLStreamReader(stream);
         return build(parser, DEFAULT_TRIM, locationBuilder);
     }
 
     public static XmlNodeImpl build(Reader reader, InputLocationBuilderStax locationBuilder) throws XMLStreamException {
-        XMLStreamReader parser = XMLInputFactory.newFactory().createXMLStreamReader(reader);
+        XMLStreamReader parser = FACTORY.createXMLStreamReader(reader);
         return build(parser, DEFAULT_TRIM, locationBuilder);
     }
 
@@ -60,6 +65,21 @@ public static XmlNodeImpl build(XMLStreamReader parser, InputLocationBuilderStax
 
     public static XmlNodeImpl build(XMLStreamReader parser, boolean trim, InputLocationBuilderStax locationBuilder)
             throws XMLStreamException {
+        return build(parser, trim, locationBuilder, null);
+    }
+
+    /**
+     * Builds the node at the current position of the parser.
+     *
+     * @param stringPool canonicalizes the values and attribute values of the nodes, can be {@code null}
+     * @since 4.0.0
+     */
+    public static XmlNodeImpl build(
+            XMLStreamReader parser,
+            boolean trim,
+            InputLocationBuilderStax locationBuilder,
+            UnaryOperator<String> stringPool)
+            throws XMLStreamException {
         boolean spacePreserve = false;
         String lPrefix = null;
         String lNamespaceUri = null;
@@ -95,7 +115,7 @@ public static XmlNodeImpl build(XMLStreamReader parser, boolean trim, InputLocat
                             if (aPrefix != null && !aPrefix.isEmpty()) {
                                 aName = aPrefix + ":" + aName;
                             }
-                            attrs.put(aName, aValue);
+                            attrs.put(aName, stringPool != null ? stringPool.apply(aValue) : aValue);
                             spacePreserve = spacePreserve || ("xml:space".equals(aName) && "preserve".equals(aValue));
                         }
                     }
@@ -103,7 +123,7 @@ public static XmlNodeImpl build(XMLStreamReader parser, boolean trim, InputLocat
                     if (children == null) {
                         children = new ArrayList<>();
                     }
-                    XmlNode child = build(parser, trim, locationBuilder);
+                    XmlNode child = build(parser, trim, locationBuilder, stringPool);
                     children.add(child);
                 }
             } else if (eventType == XMLStreamReader.CHARACTERS || eventType == XMLStreamReader.CDATA) {
@@ -116,6 +136,9 @@ public static XmlNodeImpl build(XMLStreamReader parser, boolean trim, InputLocat
                 if (lValue != null && trim && !spacePreserve) {
                     lValue = lValue.trim();
                 }
+                if (lValue != null && children == null && stringPool != null) {
+                    lValue = stringPool.apply(lValue);
+                }
                 return new XmlNodeImpl(
                         lPrefix,
                         lNamespaceUri,
@@ -22,10 +22,13 @@
 import java.io.Serializable;
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 class WrapperList<T, U> extends AbstractList<T> implements Serializable {
@@ -33,21 +36,54 @@
     private final Consumer<List<U>> setter;
     private final Function<U, T> mapper;
     private final Function<T, U> revMapper;
+    private final Predicate<T> reusable;
+    private transient Elements<T, U> elements;
 
     WrapperList(List<U> list, Function<U, T> mapper, Function<T, U> revMapper) {
         this(() -> list, null, mapper, revMapper);
     }
 
     WrapperList(Supplier<List<U>> getter, Consumer<List<U>> setter, Function<U, T> mapper, Function<T, U> revMapper) {
+        this(getter, setter, mapper, revMapper, null);
+    }
+
+    /**
+     * Creates a list which returns the same element wrappers for as long as the underlying list is not replaced,
+     * and the wrappers are still {@code reusable}. Wrappers of elements which are kept in a new underlying list are
+     * also returned again.
+     */
+    WrapperList(
+            Supplier<List<U>> getter,
+            Consumer<List<U>> setter,
+            Function<U, T> mapper,
+            Function<T, U> revMapper,
+            Predicate<T> reusable) {
         this.getter = getter;
         this.setter = setter;
         this.mapper = mapper;
         this.revMapper = revMapper;
+        this.reusable = reusable;
     }
 
     @Override
     public T get(int index) {
-        return mapper.apply(getter.get().get(index));
+        List<U> list = getter.get();
+        if (reusable == null) {
+            return mapper.apply(list.get(index));
+        }
+        U delegate = list.get(index);
+        Elements<T, U> elements = this.elements;
+        if (elements == null || elements.list != list) {
+            elements = new Elements<>(list, elements, revMapper);
+            this.elements = elements;
+        }
+        @SuppressWarnings("unchecked")
+        T element = (T) elements.wrappers[index];
+        if (element == null || revMapper.apply(element) != delegate || !reusable.test(element)) {
+            element = mapper.apply(delegate);
+            elements.wrappers[index] = element;
+        }
+        return element;
     }
 
     @Override
@@ -108,4 +144,29 @@ public T remove(int index) {
     private Object writeReplace() throws ObjectStreamException {
         return new ArrayList<T>(this);
     }
+
+    /**
+     * The wrappers of the elements of an underlying list, created on demand.
+     */
+    private static final class Elements<T, U> {
+        private final List<U> list;
+        private final Object[] wrappers;
+
+        @SuppressWarnings("unchecked")
+        Elements(List<U> list, Elements<T, U> previous, Function<T, U> revMapper) {
+            this.list = list;
+            this.wrappers = new Object[list.size()];
+            if (previous != null) {
+                Map<U, Object> wrappersByDelegate = new IdentityHashMap<>();
+                for (Object wrapper : previous.wrappers) {
+                    if (wrapper != null) {
+                        wrappersByDelegate.put(revMapper.apply((T) wrapper), wrapper);
+                    }
+                }
+                for (int i = 0; i < wrappers.length; i++) {
+                    wrappers[i] = wrappersByDelegate.remove(list.get(i));
+                }
+            }
+        }
+    }
 }